@@ -0,0 +1,80 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.util.PooledObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+import static io.injest.core.http.BenchmarkHandlers.RecordAdapter;
+import static io.injest.core.http.BenchmarkHandlers.RecordHandler;
+
+/**
+ * Many threads allocating from and returning to the adapter pool of a
+ * single hot handler. Pool counters are printed after each trial
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class AdapterPoolBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedPool {
+
+        AdapterPool<RecordAdapter> pool;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = new RecordHandler().getAdapterPool();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            System.out.printf("%ncapacity=%d hits=%d misses=%d overflows=%d%n",
+                    pool.getCapacity(), pool.getHits(), pool.getMisses(), pool.getOverflows());
+        }
+    }
+
+    @Benchmark
+    public RecordAdapter allocateAndRecycle(SharedPool shared) {
+        final PooledObject<RecordAdapter> pooled = shared.pool.allocate();
+        final RecordAdapter adapter = pooled.getObject();
+        pooled.close();
+        return adapter;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.annotations.directives.Produces;
+import io.injest.core.structs.Receptacle;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handlers and adapters exercised by the pipeline benchmarks. They do
+ * just enough work to touch parameters, bodies and serialization
+ */
+final class BenchmarkHandlers {
+
+    static final int LIST_SIZE = 100;
+
+    private static final List<Record> RECORDS = new ArrayList<>(LIST_SIZE);
+
+    static {
+        for (int i = 0; i < LIST_SIZE; i++)
+            RECORDS.add(new Record(i, "record-" + i, i * 1.5d, i % 2 == 0));
+    }
+
+    public static class Record {
+        private long id;
+        private String name;
+        private double score;
+        private boolean active;
+
+        public Record() {
+        }
+
+        Record(long id, String name, double score, boolean active) {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+            this.active = active;
+        }
+    }
+
+    public static class RecordAdapter extends Adapter {
+        private long id;
+        private String name;
+        private int limit;
+        private boolean active;
+
+        @Override
+        public void clear() {
+            super.clear();
+            id = 0;
+            name = null;
+            limit = 0;
+            active = false;
+        }
+    }
+
+    public static class RecordListAdapter extends Adapter {
+        private List<Record> records;
+        private int total;
+
+        @Override
+        public void clear() {
+            super.clear();
+            records = null;
+            total = 0;
+        }
+    }
+
+    /**
+     * GET /records/{id}?limit=..&active=..
+     */
+    public static class RecordHandler extends Handler<RecordAdapter> {
+        @Override
+        protected int handle(HttpRequest request, RecordAdapter adapter) {
+            adapter.id = request.path().getLong("id");
+            adapter.name = request.params().getString("name");
+            adapter.limit = request.query().getInt("limit");
+            adapter.active = request.params().getBoolean("active");
+            return 200;
+        }
+    }
+
+    /**
+     * GET /records
+     */
+    public static class RecordListHandler extends Handler<RecordListAdapter> {
+        @Override
+        protected int handle(HttpRequest request, RecordListAdapter adapter) {
+            adapter.records = RECORDS;
+            adapter.total = RECORDS.size();
+            return 200;
+        }
+    }
+
+    /**
+     * POST /records with a JSON body
+     */
+    public static class JsonBodyHandler extends Handler<RecordAdapter> {
+        @Override
+        protected int handle(HttpRequest request, RecordAdapter adapter) {
+            Record record = request.json(Record.class).orElse(null);
+            if (record == null)
+                return 400;
+            adapter.id = record.id;
+            adapter.name = record.name;
+            adapter.active = record.active;
+            return 201;
+        }
+    }
+
+    /**
+     * POST /records with a url-encoded form body
+     */
+    public static class FormBodyHandler extends Handler<RecordAdapter> {
+        @Override
+        protected int handle(HttpRequest request, RecordAdapter adapter) {
+            adapter.id = request.body().getLong("id");
+            adapter.name = request.body().getString("name");
+            adapter.active = request.body().getBoolean("active");
+            return 201;
+        }
+    }
+
+    @Produces(ContentType.TEXT_PLAIN)
+    public static class TextHandler extends Handler<TextResponseAdapter> {
+        @Override
+        protected int handle(HttpRequest request, TextResponseAdapter adapter) {
+            adapter.setBody("pong");
+            return 200;
+        }
+    }
+
+    @Produces(ContentType.OCTET_STREAM)
+    public static class BufferedHandler extends Handler<BufferedResponseAdapter> {
+
+        static File file;
+
+        @Override
+        protected int handle(HttpRequest request, BufferedResponseAdapter adapter) throws Exception {
+            adapter.setBody(file);
+            return 200;
+        }
+    }
+
+    /**
+     * First link of a chain that resolves the record id and hands
+     * over to {@link RecordHandler}
+     */
+    public static class RecordChainHandler extends ChainedHandler<RecordAdapter> {
+        @Override
+        protected int handle(HttpRequest request, Receptacle nextParams) {
+            nextParams.putLong("id", request.query().getLong("ref"));
+            nextParams.putString("name", "chained");
+            return 200;
+        }
+    }
+
+    static final class HeaderInterceptor implements Interceptor {
+        @Override
+        public void intercept(HttpRequest request, HttpResponse response) {
+            response.putHeader("X-Request-Time", "0");
+        }
+    }
+
+    static final class DataInterceptor implements Interceptor {
+        @Override
+        public void intercept(HttpRequest request, HttpResponse response) {
+            request.data().putString("user", request.getHeader("Authorization"));
+        }
+    }
+
+    static final class NoopInterceptor implements Interceptor {
+        @Override
+        public void intercept(HttpRequest request, HttpResponse response) {
+        }
+    }
+
+    private BenchmarkHandlers() {
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+package io.injest.core.http;
+
+import io.undertow.server.HttpServerExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of Handler.handleRequest for each adapter flavour.
+ * Every invocation builds a fresh mock exchange, so compare against
+ * {@link #baselineExchange} to isolate the pipeline itself
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerPipelineBenchmark {
+
+    @Benchmark
+    public HttpServerExchange baselineExchange(PipelineState state) {
+        return state.recordRequest.create();
+    }
+
+    @Benchmark
+    public HttpServerExchange jsonAdapter(PipelineState state) throws Exception {
+        final HttpServerExchange exchange = state.recordRequest.create();
+        state.recordHandler.handleRequest(exchange);
+        return exchange;
+    }
+
+    @Benchmark
+    public HttpServerExchange jsonListAdapter(PipelineState state) throws Exception {
+        final HttpServerExchange exchange = state.listRequest.create();
+        state.recordListHandler.handleRequest(exchange);
+        return exchange;
+    }
+
+    @Benchmark
+    public HttpServerExchange jsonRequestBody(PipelineState state) throws Exception {
+        final HttpServerExchange exchange = state.jsonBodyRequest.create();
+        state.jsonBodyHandler.handleRequest(exchange);
+        return exchange;
+    }
+
+    @Benchmark
+    public HttpServerExchange formRequestBody(PipelineState state) throws Exception {
+        final HttpServerExchange exchange = state.formBodyRequest.create();
+        state.formBodyHandler.handleRequest(exchange);
+        return exchange;
+    }
+
+    @Benchmark
+    public HttpServerExchange textResponseAdapter(PipelineState state) throws Exception {
+        final HttpServerExchange exchange = state.textRequest.create();
+        state.textHandler.handleRequest(exchange);
+        return exchange;
+    }
+
+    @Benchmark
+    public HttpServerExchange bufferedResponseAdapter(PipelineState state) throws Exception {
+        final HttpServerExchange exchange = state.bufferedRequest.create();
+        state.bufferedHandler.handleRequest(exchange);
+        return exchange;
+    }
+
+    @Benchmark
+    public HttpServerExchange chainedHandler(PipelineState state) throws Exception {
+        final HttpServerExchange exchange = state.chainRequest.create();
+        state.chainHandler.handleRequest(exchange);
+        return exchange;
+    }
+}
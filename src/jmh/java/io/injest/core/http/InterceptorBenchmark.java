@@ -0,0 +1,68 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+package io.injest.core.http;
+
+import io.undertow.server.HttpServerExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Same request as {@link HandlerPipelineBenchmark#jsonAdapter} with a
+ * request, response and ending interceptor registered. Interceptors are
+ * global, so this lives in its own class to keep them out of the forks
+ * of the other benchmarks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class InterceptorState {
+        @Setup(Level.Trial)
+        public void setUp() {
+            Interceptors.addRequestInterceptor(new BenchmarkHandlers.DataInterceptor(), 1);
+            Interceptors.addRequestInterceptor(new BenchmarkHandlers.NoopInterceptor(), 2);
+            Interceptors.addResponseInterceptor(new BenchmarkHandlers.HeaderInterceptor(), 1);
+            Interceptors.addEndingInterceptor(new BenchmarkHandlers.NoopInterceptor(), 1);
+        }
+    }
+
+    @Benchmark
+    public HttpServerExchange jsonAdapterIntercepted(InterceptorState interceptors, PipelineState state) throws Exception {
+        final HttpServerExchange exchange = state.recordRequest.create();
+        state.recordHandler.handleRequest(exchange);
+        return exchange;
+    }
+}
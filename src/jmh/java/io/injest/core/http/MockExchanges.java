@@ -0,0 +1,121 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HttpString;
+import io.undertow.util.Protocols;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Builds request templates that stamp out fresh HttpServerExchange
+ * instances backed by a {@link MockServerConnection}. An exchange can
+ * only be answered once, so benchmarks call {@link Template#create()}
+ * on every invocation
+ */
+final class MockExchanges {
+
+    static Template get(String path) {
+        return new Template("GET", path);
+    }
+
+    static Template post(String path) {
+        return new Template("POST", path);
+    }
+
+    static final class Template {
+
+        private final String method;
+        private final String path;
+        private final Map<String, String> query = new LinkedHashMap<>();
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private Router router;
+        private byte[] body;
+        private String queryString = "";
+
+        private Template(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+
+        /**
+         * Match the path against a route template the way the Router
+         * does when dispatching a request
+         */
+        Template route(String template) {
+            this.router = new Router().add(RequestMethod.find(method), template, exchange -> {
+            });
+            return this;
+        }
+
+        Template query(String key, String value) {
+            query.put(key, value);
+            StringJoiner joiner = new StringJoiner("&");
+            query.forEach((k, v) -> joiner.add(k + "=" + v));
+            this.queryString = joiner.toString();
+            return this;
+        }
+
+        Template header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        Template body(String contentType, String content) {
+            this.body = content.getBytes(StandardCharsets.UTF_8);
+            header("Content-Type", contentType);
+            header("Content-Length", String.valueOf(body.length));
+            return this;
+        }
+
+        /**
+         * Create a new exchange from this template
+         *
+         * @return exchange ready to be passed to a handler
+         */
+        HttpServerExchange create() {
+            final HttpServerExchange exchange = new HttpServerExchange(new MockServerConnection(body));
+            exchange.setProtocol(Protocols.HTTP_1_1);
+            exchange.setRequestScheme("http");
+            exchange.setRequestMethod(HttpString.tryFromString(method));
+            exchange.setRequestURI(path);
+            exchange.setRequestPath(path);
+            exchange.setRelativePath(path);
+            exchange.setResolvedPath("");
+            exchange.setQueryString(queryString);
+            for (Map.Entry<String, String> entry : query.entrySet())
+                exchange.addQueryParam(entry.getKey(), entry.getValue());
+            for (Map.Entry<String, String> entry : headers.entrySet())
+                exchange.getRequestHeaders().put(new HttpString(entry.getKey()), entry.getValue());
+            if (router != null)
+                exchange.putAttachment(RouteMatch.ATTACHMENT_KEY, router.match(exchange.getRequestMethod(), path));
+            return exchange;
+        }
+    }
+
+    private MockExchanges() {
+    }
+}
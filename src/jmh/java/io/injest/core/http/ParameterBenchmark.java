@@ -0,0 +1,156 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.annotations.directives.Param;
+import io.injest.core.structs.IntList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the parameter store of a request from its query string and
+ * reading a handful of values back, the way a search endpoint would
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParameterBenchmark {
+
+    public static class SearchParams {
+        @Param(required = true)
+        String q;
+        @Param
+        int limit = 25;
+        @Param
+        int page = 1;
+        @Param
+        boolean active;
+        @Param
+        List<String> tags;
+    }
+
+    @org.openjdk.jmh.annotations.Param({"5", "30"})
+    public int queryParams;
+
+    private Map<String, Deque<String>> query;
+    private HttpParameters numeric;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // shaped like Undertow's query map: sorted keys, one deque per key
+        query = new TreeMap<>();
+        put("q", "benchmark");
+        put("tags[]", "a", "b", "c");
+        put("filter[status]", "active");
+        put("limit", "25");
+        put("active", "true");
+        for (int i = query.size(); i < queryParams; i++)
+            put("facet" + i, String.valueOf(i));
+
+        final Map<String, Deque<String>> numericQuery = new TreeMap<>();
+        final Deque<String> ids = new ArrayDeque<>();
+        for (int i = 0; i < 200; i++)
+            ids.add(String.valueOf(100000 + i * 7));
+        numericQuery.put("ids[]", ids);
+        numericQuery.put("page", new ArrayDeque<>(Collections.singleton("3")));
+        numericQuery.put("limit", new ArrayDeque<>(Collections.singleton("bad")));
+        numeric = new HttpParameters(new ParameterWrapper(Collections.emptyMap(), numericQuery), ParameterSource.QUERY);
+    }
+
+    private void put(String key, String... values) {
+        final Deque<String> deque = new ArrayDeque<>(values.length);
+        Collections.addAll(deque, values);
+        query.put(key, deque);
+    }
+
+    @Benchmark
+    public void readParameters(Blackhole blackhole) {
+        final ParameterWrapper wrapper = new ParameterWrapper(Collections.emptyMap(), query);
+        blackhole.consume(wrapper.get(ParameterSource.ANY, "q"));
+        blackhole.consume(wrapper.get(ParameterSource.QUERY, "limit", Integer.class));
+        blackhole.consume(wrapper.get(ParameterSource.ANY, "active", Boolean.class));
+        blackhole.consume(wrapper.getList(ParameterSource.QUERY, "tags", String.class));
+        blackhole.consume(wrapper.getMap(ParameterSource.ANY, "filter"));
+        blackhole.consume(wrapper.get(ParameterSource.ANY, "missing"));
+    }
+
+    @Benchmark
+    public long boxedNumbers() {
+        long sum = numeric.getOrDefault("page", Integer.class, 1) + numeric.getOrDefault("limit", Integer.class, 25);
+        for (Integer id : numeric.getIntArray("ids"))
+            sum += id;
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveNumbers() {
+        long sum = numeric.getInt("page", 1) + numeric.getInt("limit", 25);
+        final IntList ids = numeric.getIntList("ids");
+        for (int i = 0; i < ids.size(); i++)
+            sum += ids.get(i);
+        return sum;
+    }
+
+    @Benchmark
+    public SearchParams manualBinding() {
+        final HttpParameters params = new HttpParameters(new ParameterWrapper(Collections.emptyMap(), query), ParameterSource.ANY);
+        if (!params.has("q"))
+            return null;
+        final SearchParams search = new SearchParams();
+        search.q = params.getString("q");
+        search.limit = params.getOrDefault("limit", Integer.class, 25);
+        search.page = params.getOrDefault("page", Integer.class, 1);
+        search.active = params.getOrDefault("active", Boolean.class, false);
+        search.tags = params.getStringArray("tags");
+        return search;
+    }
+
+    @Benchmark
+    public SearchParams compiledBinding() {
+        final ParameterWrapper wrapper = new ParameterWrapper(Collections.emptyMap(), query);
+        final List<ParameterError> errors = new ArrayList<>(0);
+        final SearchParams search = ParameterBinder.of(SearchParams.class).bind(wrapper.getCollected(), errors);
+        return errors.isEmpty() ? search : null;
+    }
+}
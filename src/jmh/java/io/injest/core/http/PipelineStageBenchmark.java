@@ -0,0 +1,136 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+package io.injest.core.http;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.PooledObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+import static io.injest.core.http.BenchmarkHandlers.RecordAdapter;
+import static io.injest.core.http.BenchmarkHandlers.RecordListAdapter;
+
+/**
+ * Breaks the JSON request pipeline into its stages. Stages that need a
+ * live exchange include the cost of the stages before them, so read the
+ * results as a cumulative series:
+ *
+ * 1) mock exchange
+ * 2) + HttpExchange (HttpRequest, HttpResponse)
+ * 3) + HandlerProcessor.processRequest
+ * 4) + HandlerInstance.invoke (interceptors, serialization, send)
+ * 5) + Handler.handleRequest (adapter pool)
+ *
+ * Adapter pooling and JSON serialization are measured on their own
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineStageBenchmark {
+
+    @State(Scope.Thread)
+    public static class StageState {
+
+        AdapterPool<RecordAdapter> adapterPool;
+        RecordAdapter recordAdapter;
+        RecordListAdapter listAdapter;
+        final ResponseWriter writer = new ResponseWriter();
+
+        @Setup(Level.Trial)
+        public void setUp(PipelineState pipeline) throws Exception {
+            adapterPool = new AdapterPool<>(pipeline.recordHandler);
+
+            // run each handler once so the adapters hold realistic data
+            recordAdapter = new RecordAdapter();
+            pipeline.recordHandler.handle(
+                    new HttpExchange(pipeline.recordRequest.create(), pipeline.recordHandler).getRequest(),
+                    recordAdapter);
+            listAdapter = new RecordListAdapter();
+            pipeline.recordListHandler.handle(
+                    new HttpExchange(pipeline.listRequest.create(), pipeline.recordListHandler).getRequest(),
+                    listAdapter);
+        }
+    }
+
+    @Benchmark
+    public HttpServerExchange stage1MockExchange(PipelineState state) {
+        return state.recordRequest.create();
+    }
+
+    @Benchmark
+    public HttpExchange stage2HttpExchange(PipelineState state) {
+        return new HttpExchange(state.recordRequest.create(), state.recordHandler);
+    }
+
+    @Benchmark
+    public ResponseState stage3ProcessRequest(PipelineState state) {
+        final HttpExchange exchange = new HttpExchange(state.recordRequest.create(), state.recordHandler);
+        final RecordAdapter adapter = new RecordAdapter();
+        exchange.getResponse().setResponseAdapter(adapter);
+        final HandlerInstance<RecordAdapter> instance = new HandlerInstance<>(state.recordHandler, exchange, adapter);
+        return HandlerProcessorFactory.from(instance).processRequest();
+    }
+
+    @Benchmark
+    public HttpExchange stage4Invoke(PipelineState state) throws Exception {
+        final HttpExchange exchange = new HttpExchange(state.recordRequest.create(), state.recordHandler);
+        new HandlerInstance<>(state.recordHandler, exchange, new RecordAdapter()).invoke();
+        return exchange;
+    }
+
+    @Benchmark
+    public HttpServerExchange stage5HandleRequest(PipelineState state) throws Exception {
+        final HttpServerExchange exchange = state.recordRequest.create();
+        state.recordHandler.handleRequest(exchange);
+        return exchange;
+    }
+
+    @Benchmark
+    public RecordAdapter adapterPoolCycle(StageState stage) {
+        final PooledObject<RecordAdapter> pooled = stage.adapterPool.allocate();
+        final RecordAdapter adapter = pooled.getObject();
+        pooled.close();
+        return adapter;
+    }
+
+    @Benchmark
+    public String serializeAdapter(StageState stage) {
+        return stage.writer.getResponseJson(stage.recordAdapter);
+    }
+
+    @Benchmark
+    public String serializeListAdapter(StageState stage) {
+        return stage.writer.getResponseJson(stage.listAdapter);
+    }
+}
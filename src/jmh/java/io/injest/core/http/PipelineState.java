@@ -0,0 +1,148 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.annotations.directives.Blocking;
+import io.injest.core.annotations.handlers.ChainHandler;
+import io.injest.core.boot.ConfigKeys;
+import io.injest.core.boot.StaticConfig;
+import io.injest.core.util.DeploymentMode;
+import io.injest.core.util.Env;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+
+import static io.injest.core.http.BenchmarkHandlers.BufferedHandler;
+import static io.injest.core.http.BenchmarkHandlers.FormBodyHandler;
+import static io.injest.core.http.BenchmarkHandlers.JsonBodyHandler;
+import static io.injest.core.http.BenchmarkHandlers.RecordChainHandler;
+import static io.injest.core.http.BenchmarkHandlers.RecordHandler;
+import static io.injest.core.http.BenchmarkHandlers.RecordListHandler;
+import static io.injest.core.http.BenchmarkHandlers.TextHandler;
+
+/**
+ * Handlers wired up the way PackageScanner would, plus the request
+ * templates that drive them
+ */
+@State(Scope.Thread)
+public class PipelineState {
+
+    static final int BUFFERED_FILE_SIZE = 64 * 1024;
+
+    /**
+     * Serialize JSON adapters straight into pooled buffers
+     */
+    @Param({"false", "true"})
+    public boolean jsonStreamOutput;
+
+    RecordHandler recordHandler;
+    RecordListHandler recordListHandler;
+    JsonBodyHandler jsonBodyHandler;
+    FormBodyHandler formBodyHandler;
+    TextHandler textHandler;
+    BufferedHandler bufferedHandler;
+    RecordChainHandler chainHandler;
+
+    MockExchanges.Template recordRequest;
+    MockExchanges.Template listRequest;
+    MockExchanges.Template jsonBodyRequest;
+    MockExchanges.Template formBodyRequest;
+    MockExchanges.Template textRequest;
+    MockExchanges.Template bufferedRequest;
+    MockExchanges.Template chainRequest;
+
+    private File bufferedFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Env.setDeploymentMode(DeploymentMode.PRODUCTION);
+        configure(ConfigKeys.Json.JSON_STREAM_OUTPUT, Boolean.class, jsonStreamOutput);
+
+        bufferedFile = File.createTempFile("injest-bench", ".bin");
+        try (RandomAccessFile raf = new RandomAccessFile(bufferedFile, "rw")) {
+            raf.setLength(BUFFERED_FILE_SIZE);
+        }
+        BufferedHandler.file = bufferedFile;
+
+        recordHandler = new RecordHandler();
+        recordListHandler = new RecordListHandler();
+        jsonBodyHandler = new JsonBodyHandler();
+        jsonBodyHandler.putAttachment(Blocking.ATTACHMENT_KEY, true);
+        formBodyHandler = new FormBodyHandler();
+        formBodyHandler.putAttachment(Blocking.ATTACHMENT_KEY, true);
+        textHandler = new TextHandler();
+        bufferedHandler = new BufferedHandler();
+        chainHandler = new RecordChainHandler();
+        chainHandler.putAttachment(ChainHandler.ATTACHMENT_KEY, RecordHandler.class);
+        HandlerRegistry.getInstance().put(RecordHandler.class, recordHandler);
+
+        recordRequest = MockExchanges.get("/records/42")
+                .route("/records/{id}")
+                .query("limit", "25")
+                .query("active", "true")
+                .query("name", "benchmark")
+                .header("Accept", ContentType.JSON)
+                .header("Authorization", "Bearer benchmark");
+        listRequest = MockExchanges.get("/records")
+                .header("Accept", ContentType.JSON);
+        jsonBodyRequest = MockExchanges.post("/records")
+                .body(ContentType.JSON, "{\"id\":42,\"name\":\"benchmark\",\"score\":1.5,\"active\":true}");
+        formBodyRequest = MockExchanges.post("/records")
+                .body("application/x-www-form-urlencoded", "id=42&name=benchmark&active=true");
+        textRequest = MockExchanges.get("/ping");
+        bufferedRequest = MockExchanges.get("/export");
+        chainRequest = MockExchanges.get("/records/chained")
+                .query("ref", "42");
+    }
+
+    /**
+     * Put a value into the StaticConfig as if it were scanned from a
+     * ConfigValue field at boot
+     *
+     * @param key   config key
+     * @param type  value type
+     * @param value value
+     */
+    static void configure(String key, Class<?> type, Object value) {
+        try {
+            Method putValue = StaticConfig.class.getDeclaredMethod("putValue", String.class, Class.class, Object.class);
+            putValue.setAccessible(true);
+            putValue.invoke(StaticConfig.getInstance(), key, type, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (bufferedFile != null && !bufferedFile.delete())
+            bufferedFile.deleteOnExit();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.util.Methods;
+import io.undertow.util.PathTemplateMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route matching plus path parameter access over a table of 400 routes,
+ * comparing the Router with Undertow's PathTemplateMatcher followed by
+ * the per-request map copy HttpRequest used to make
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouterBenchmark {
+
+    static final int RESOURCES = 40;
+
+    static final String[] SHAPES = {
+            "", "/{id}", "/{id}/items", "/{id}/items/{itemId}", "/search",
+            "/{id}/history", "/{id}/items/{itemId}/notes", "/export", "/{id}/owner", "/{id}/tags/{tag}"
+    };
+
+    static final String STATIC_PATH = "/api/v1/resource37/search";
+    static final String PARAM_PATH = "/api/v1/resource37/12345/items/678/notes";
+
+    @Param({"injest", "undertow"})
+    public String router;
+
+    private Router injestRouter;
+    private PathTemplateMatcher<HttpHandler> undertowMatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final HttpHandler handler = exchange -> {
+        };
+        injestRouter = new Router();
+        undertowMatcher = new PathTemplateMatcher<>();
+        for (int i = 0; i < RESOURCES; i++) {
+            for (String shape : SHAPES) {
+                final String template = "/api/v1/resource" + i + shape;
+                injestRouter.add(RequestMethod.GET, template, handler);
+                undertowMatcher.add(template, handler);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object staticRoute() {
+        return match(STATIC_PATH, null);
+    }
+
+    @Benchmark
+    public Object paramRoute() {
+        return match(PARAM_PATH, "itemId");
+    }
+
+    @Benchmark
+    public Object missingRoute() {
+        return match("/api/v1/unknown/12345", null);
+    }
+
+    private Object match(String path, String key) {
+        if ("injest".equals(router)) {
+            final RouteMatch match = injestRouter.match(Methods.GET, path);
+            if (match == null || key == null)
+                return match;
+            return match.asDequeMap().get(key);
+        }
+        final PathTemplateMatcher.PathMatchResult<HttpHandler> result = undertowMatcher.match(path);
+        if (result == null || key == null)
+            return result;
+        final TreeMap<String, Deque<String>> params = new TreeMap<>();
+        for (Map.Entry<String, String> entry : result.getParameters().entrySet()) {
+            final Deque<String> values = new ArrayDeque<>(1);
+            values.add(entry.getValue());
+            params.put(entry.getKey(), values);
+        }
+        return params.get(key);
+    }
+}
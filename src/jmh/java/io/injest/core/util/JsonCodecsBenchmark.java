@@ -0,0 +1,111 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing through the shared mappers, resolving types on
+ * every call, against the cached readers and writers of JsonCodecs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonCodecsBenchmark {
+
+    public static class Item {
+        private long id;
+        private String name;
+        private boolean active;
+
+        public Item() {
+        }
+
+        Item(long id, String name, boolean active) {
+            this.id = id;
+            this.name = name;
+            this.active = active;
+        }
+    }
+
+    private final List<Item> items = new ArrayList<>();
+    private String itemJson;
+    private String listJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        for (int i = 0; i < 5; i++)
+            items.add(new Item(i, "item-" + i, i % 2 == 0));
+        itemJson = JsonMappers.serializationDefault().writeValueAsString(items.get(0));
+        listJson = JsonMappers.serializationDefault().writeValueAsString(items);
+    }
+
+    @Benchmark
+    public Item mapperRead() throws IOException {
+        return JsonMappers.serializationDefault().readValue(itemJson, Item.class);
+    }
+
+    @Benchmark
+    public Item codecRead() throws IOException {
+        return JsonCodecs.readerFor(Item.class).readValue(itemJson);
+    }
+
+    @Benchmark
+    public List<Item> mapperReadList() throws IOException {
+        final ObjectMapper mapper = JsonMappers.serializationDefault();
+        return mapper.readValue(listJson, mapper.getTypeFactory().constructCollectionType(List.class, Item.class));
+    }
+
+    @Benchmark
+    public List<Item> codecReadList() throws IOException {
+        return JsonCodecs.listReaderFor(Item.class).readValue(listJson);
+    }
+
+    @Benchmark
+    public String mapperWrite() throws IOException {
+        return JsonMappers.restOperationDefault().writeValueAsString(items.get(0));
+    }
+
+    @Benchmark
+    public String codecWrite() throws IOException {
+        return JsonCodecs.writerFor(Item.class).writeValueAsString(items.get(0));
+    }
+}
@@ -22,6 +22,9 @@
 
 package io.injest.core;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 public final class Exceptions {
 
     public static RuntimeException mainClassNotFound() {
@@ -53,6 +56,18 @@ public final class Exceptions {
                 className));
     }
 
+    public static IllegalStateException routeConflict(String method, String template, String existing) {
+        return new IllegalStateException(String.format(
+                "Route %s %s conflicts with the equivalent route %s %s",
+                method, template, method, existing));
+    }
+
+    public static IllegalArgumentException invalidRouteTemplate(String template, String reason) {
+        return new IllegalArgumentException(String.format(
+                "Invalid route template [%s]: %s",
+                template, reason));
+    }
+
     public static IllegalStateException handlerNotInstantiated(String className) {
         return new IllegalStateException(String.format(
                 "Unable to instantiate handler [%s]",
@@ -87,10 +102,46 @@ public final class Exceptions {
                 "Attachments cannot be added to handlers after the bootstrapping phase");
     }
 
+    public static IllegalStateException keystoreNotLoaded(String path, Throwable cause) {
+        return new IllegalStateException(String.format(
+                "Unable to create an SSL context from keystore [%s]",
+                path), cause);
+    }
+
     public static IllegalStateException interceptorNotConstructed(String className) {
         return new IllegalStateException(String.format(
                 "Interceptor [%s] failed to construct. An exception was thrown in its constructor",
                 className
         ));
     }
+
+    public static IllegalStateException staticRootInvalid(String path, Throwable cause) {
+        return new IllegalStateException(String.format(
+                "Unable to serve static resources from [%s]. The path must be a readable directory",
+                path), cause);
+    }
+
+    public static IllegalStateException formPartNotAFile(String name) {
+        return new IllegalStateException(String.format(
+                "Form part [%s] is a field, not a file",
+                name));
+    }
+
+    public static UncheckedIOException requestBodyTooLarge(long maxSize, IOException cause) {
+        return new UncheckedIOException(String.format(
+                "Request body exceeds the maximum size of %d bytes",
+                maxSize), cause);
+    }
+
+    public static IllegalStateException invalidParamField(String className, String fieldName, String reason) {
+        return new IllegalStateException(String.format(
+                "Parameter field [%s.%s] cannot be bound: %s",
+                className, fieldName, reason));
+    }
+
+    public static IllegalStateException paramsNotInstantiated(String className, Throwable cause) {
+        return new IllegalStateException(String.format(
+                "Unable to instantiate parameter class [%s]. It must have a no-arg constructor",
+                className), cause);
+    }
 }
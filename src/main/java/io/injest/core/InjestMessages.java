@@ -72,6 +72,28 @@ public class InjestMessages {
         return new Message(String.format("Interceptor [%s] failed to load.", type.getName()));
     }
 
+    public static Message invalidTrustedProxy(String entry) {
+        return new Message(String.format("Trusted proxy [%s] is not a valid IP address or CIDR range and will be ignored.", entry));
+    }
+
+    public static Message invalidRejectionPolicy(String policy) {
+        return new Message(String.format("Worker rejection policy [%s] is not recognized. Falling back to ABORT.", policy));
+    }
+
+    public static Message virtualThreadsUnsupported() {
+        return new Message(String.format("Virtual threads require Java 21 or newer, but this is Java %s. " +
+                "Blocking handlers and worker tasks will run on platform threads.", System.getProperty("java.version")));
+    }
+
+    public static Message staticWatchFailed(String root, String message) {
+        return new Message(String.format("Unable to watch static resource root [%s] for changes - %s. " +
+                "Files will be served as they were when first scanned.", root, message));
+    }
+
+    public static Message staticResourceNotLoaded(String path, String message) {
+        return new Message(String.format("Static resource [%s] could not be loaded and will not be served - %s", path, message));
+    }
+
     public static class Message {
 
         final String content;
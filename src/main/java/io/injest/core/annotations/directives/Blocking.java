@@ -32,4 +32,11 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 public @interface Blocking {
     AttachmentKey<Boolean> ATTACHMENT_KEY = AttachmentKey.create(Boolean.class);
+
+    /**
+     * Run this handler on a virtual thread instead of the server's worker
+     * pool. Requires Java 21+, otherwise the worker pool is used
+     * @return true to use a virtual thread
+     */
+    boolean virtual() default false;
 }
@@ -0,0 +1,59 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.annotations.directives;
+
+import io.injest.core.http.ParameterSource;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a field of a parameter class to a request parameter. Supported
+ * field types are String, the numeric and boolean primitives and their
+ * boxes, enums, List of String, IntList and LongList. Missing optional
+ * parameters leave the field at its initial value
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Param {
+
+    /**
+     * Parameter key, the field name if empty
+     * @return key
+     */
+    String value() default "";
+
+    /**
+     * Source to read the parameter from. Parameters injected by chained
+     * handlers override those of any source
+     * @return parameter source
+     */
+    ParameterSource source() default ParameterSource.ANY;
+
+    /**
+     * Reject the request if the parameter is missing
+     * @return true if required
+     */
+    boolean required() default false;
+}
@@ -28,10 +28,12 @@ public class ApplicationState {
         START,
         BOOT,
         SCAN,
-        RUNNING
+        RUNNING,
+        DRAINING,
+        STOPPED
     }
 
-    private static State state = State.START;
+    private static volatile State state = State.START;
 
     static void setState(State s) {
         state = s;
@@ -30,6 +30,10 @@ final public class ConfigKeys {
     public static final String DEFAULT_RESPONSE_CONTENT_TYPE = "defaultResponseContentType";
     public static final String REQUEST_BODY_CHARSET = "requestBodyCharset";
     public static final String MISSING_PARAMETERS_STATUS_CODE = "missingParametersStatusCode";
+    public static final String ADAPTER_POOL_SIZE = "adapterPoolSize";
+    public static final String MAX_BYTE_RANGES = "maxByteRanges";
+    public static final String MAX_REQUEST_BODY_SIZE = "maxRequestBodySize";
+    public static final String REWRITE_QUERY_PARAMETERS = "rewriteQueryParameters";
 
     public static final class Dev {
         public static final String EMBED_STACK_TRACE = "embedStackTrace";
@@ -39,9 +43,38 @@ final public class ConfigKeys {
     public static final class Json {
         public static final String JSON_INCLUDE_NULL_VALUES = "jsonIncludeNullValues";
         public static final String JSON_INDENT_OUTPUT = "jsonIndentOutput";
+        public static final String JSON_STREAM_OUTPUT = "jsonStreamOutput";
+        public static final String JSON_BYTECODE_MODULES = "jsonBytecodeModules";
+        public static final String JSON_WARM_UP = "jsonWarmUp";
+    }
+
+    public static final class Worker {
+        public static final String CORE_THREADS = "workerCoreThreads";
+        public static final String MAX_THREADS = "workerMaxThreads";
+        public static final String QUEUE_CAPACITY = "workerQueueCapacity";
+        public static final String KEEP_ALIVE_SECONDS = "workerKeepAliveSeconds";
+        public static final String REJECTION_POLICY = "workerRejectionPolicy";
+    }
+
+    public static final class Static {
+        public static final String ROOT = "staticResourceRoot";
+        public static final String PREFIX = "staticResourcePrefix";
+        public static final String PRIORITY = "staticResourcePriority";
+        public static final String SERVE_HIDDEN = "staticServeHidden";
+        public static final String MAX_MAPPED_SIZE = "staticMaxMappedSize";
+        public static final String GZIP_CACHE_SIZE = "staticGzipCacheSize";
+        public static final String WATCH_CHANGES = "staticWatchChanges";
+    }
+
+    public static final class Form {
+        public static final String TEMP_DIR = "formTempDir";
+        public static final String FILE_SIZE_THRESHOLD = "formFileSizeThreshold";
+        public static final String MAX_PART_SIZE = "formMaxPartSize";
+        public static final String MAX_SIZE = "formMaxSize";
     }
 
     public static final class Net {
         public static final String FORWARDED_IP_HEADER = "netForwardedIpHeader";
+        public static final String TRUSTED_PROXIES = "netTrustedProxies";
     }
 }
@@ -24,6 +24,7 @@ package io.injest.core.boot;
 
 import io.injest.core.Exceptions;
 import io.injest.core.InjestMessages;
+import io.injest.core.annotations.directives.BindParams;
 import io.injest.core.annotations.directives.Blocking;
 import io.injest.core.annotations.directives.Boot;
 import io.injest.core.annotations.directives.CustomAnnotation;
@@ -49,20 +50,23 @@ import io.injest.core.annotations.method.Trace;
 import io.injest.core.http.DefaultHandlers;
 import io.injest.core.http.ErrorAdapter;
 import io.injest.core.http.Handler;
+import io.injest.core.http.HandlerDescriptor;
 import io.injest.core.http.HandlerRegistry;
 import io.injest.core.http.HandlerWrappable;
 import io.injest.core.http.Interceptor;
 import io.injest.core.http.Interceptors;
+import io.injest.core.http.ParameterBinder;
 import io.injest.core.http.RequestMethod;
+import io.injest.core.http.Router;
 import io.injest.core.http.RequiredParameters;
+import io.injest.core.http.StaticResourceHandler;
 import io.injest.core.util.DeploymentMode;
 import io.injest.core.util.Env;
+import io.injest.core.util.JsonCodecs;
 import io.injest.core.util.Log;
 import io.injest.core.util.ObjectUtils;
 import io.injest.security.cors.Cors;
-import io.undertow.Handlers;
 import io.undertow.server.HttpHandler;
-import io.undertow.server.RoutingHandler;
 import io.undertow.server.handlers.encoding.ContentEncodingRepository;
 import io.undertow.server.handlers.encoding.EncodingHandler;
 import io.undertow.server.handlers.encoding.GzipEncodingProvider;
@@ -70,6 +74,7 @@ import org.reflections.Reflections;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -89,7 +94,7 @@ final class PackageScanner implements Callable<HttpHandler> {
     private final String rootPackage;
     private final Reflections reflections;
     private final DeploymentMode mode = Env.getDeploymentMode();
-    private final RoutingHandler routingHandler;
+    private final Router router;
     private final StaticConfig staticConfig = StaticConfig.getInstance();
     private final ScanEventListener eventListener;
 
@@ -101,7 +106,7 @@ final class PackageScanner implements Callable<HttpHandler> {
     PackageScanner(String rootPackage) {
         this.rootPackage = rootPackage;
         this.reflections = new Reflections(rootPackage);
-        this.routingHandler = Handlers.routing();
+        this.router = new Router();
         this.eventListener = BootManager.INSTANCE.getScanEventListener();
     }
 
@@ -114,6 +119,7 @@ final class PackageScanner implements Callable<HttpHandler> {
      * 4) Map Error handlers
      * 5) Instantiate Wrap Handlers
      * 6) Set GZIP and Response type
+     * 7) Chain static resource handlers
      *
      */
     @Override
@@ -327,37 +333,43 @@ final class PackageScanner implements Callable<HttpHandler> {
         // Set user-defined fallback handler
         HttpHandler fallbackHandler = (HttpHandler) getFirstOfAnnotatedType(FallbackHandler.class);
         if (fallbackHandler != null) {
-            routingHandler.setFallbackHandler(fallbackHandler);
+            router.setFallbackHandler(fallbackHandler);
             logHandlerMapping("fallback", fallbackHandler.getClass().getName());
         } else {
-            routingHandler.setFallbackHandler(new DefaultHandlers.DefaultFallbackHandler());
+            router.setFallbackHandler(new DefaultHandlers.DefaultFallbackHandler());
         }
 
 
+        // Error adapters are serialized like any other adapter
+        JsonCodecs.register(ErrorAdapter.class);
         for (Class<?> clazz : reflections.getTypesAnnotatedWith(RequestError.class)) {
             int errorType = clazz.getAnnotation(RequestError.class).value();
             Adapters.INSTANCE.putErrorAdapter(errorType, (ErrorAdapter) ObjectUtils.createInstanceOf(clazz));
+            JsonCodecs.register(clazz);
             logAdapterMapping("error", clazz.getName());
         }
 
         // Set user-defined invalid method handler (405 error)
         final HttpHandler invalidMethodHandler = (HttpHandler) getFirstOfAnnotatedType(InvalidMethodHandler.class);
         if (invalidMethodHandler != null) {
-            routingHandler.setInvalidMethodHandler(invalidMethodHandler);
+            router.setInvalidMethodHandler(invalidMethodHandler);
             logHandlerMapping("invalid method", invalidMethodHandler.getClass().getName());
         } else {
-            routingHandler.setInvalidMethodHandler(new DefaultHandlers.DefaultFallbackHandler());
+            router.setInvalidMethodHandler(new DefaultHandlers.DefaultFallbackHandler());
         }
 
+        // Copy path parameters into the query parameters, as Undertow's RoutingHandler did
+        router.setRewriteQueryParameters(staticConfig.getBoolean(ConfigKeys.REWRITE_QUERY_PARAMETERS).orElse(false));
+
         // Set default CORS handler
         if (Cors.isEnabled()) {
-            routingHandler.add(RequestMethod.OPTIONS.toString(), "*",
+            router.add(RequestMethod.OPTIONS, "*",
                     new DefaultHandlers.DefaultOptionsHandler());
         }
 
-        // Set the root handler to the RoutingHandler instance, and
+        // Set the root handler to the Router instance, and
         // we can attach extra handlers to the chain
-        HttpHandler rootHandler = routingHandler;
+        HttpHandler rootHandler = router;
 
         // Scan for WrappedHandler annotations in order to attach different handlers to
         // the root handler chain. Add to a TreeMap, so they are iterated in order of
@@ -386,10 +398,24 @@ final class PackageScanner implements Callable<HttpHandler> {
             }
         }
 
+        // Serve static resources from the configured directory, if any. It is
+        // chained among the wrapped handlers at its configured priority, and
+        // innermost by default, so wrappers such as auth also see static paths
+        final String staticRoot = staticConfig.getString(ConfigKeys.Static.ROOT).orElse(null);
+        HandlerWrappable staticHandler = staticRoot == null ? null : new StaticResourceHandler(Paths.get(staticRoot),
+                staticConfig.getString(ConfigKeys.Static.PREFIX).orElse(""));
+        final int staticPriority = staticConfig.getInt(ConfigKeys.Static.PRIORITY).orElse(Integer.MIN_VALUE);
+
         // Iterate through wrapped handlers and add to chain in user-specified order
         for (Map.Entry<Integer, HandlerWrappable> entry : wrappedHandlers.entrySet()) {
+            if (staticHandler != null && entry.getKey() >= staticPriority) {
+                rootHandler = staticHandler.wrap(rootHandler);
+                staticHandler = null;
+            }
             rootHandler = entry.getValue().wrap(rootHandler);
         }
+        if (staticHandler != null)
+            rootHandler = staticHandler.wrap(rootHandler);
 
         // If GZIP is enabled, we add it to the chain
         if (staticConfig.getBoolean(ENABLE_GZIP).orElse(true)) {
@@ -414,7 +440,7 @@ final class PackageScanner implements Callable<HttpHandler> {
     }
 
     /**
-     * Add route mappings to main routing handler
+     * Add route mappings to the router
      * @param method request method
      * @param clazz handler class
      * @param primaryUri main (required) target URI
@@ -435,8 +461,13 @@ final class PackageScanner implements Callable<HttpHandler> {
             if (clazz.isAnnotationPresent(Blocking.class)) {
                 handler.putAttachment(Blocking.ATTACHMENT_KEY, true);
             }
+            if (clazz.isAnnotationPresent(BindParams.class)) {
+                Class<?> paramsClass = clazz.getAnnotation(BindParams.class).value();
+                handler.putAttachment(ParameterBinder.ATTACHMENT_KEY, ParameterBinder.of(paramsClass));
+            }
+            handler.putAttachment(HandlerDescriptor.ATTACHMENT_KEY, HandlerDescriptor.of(handler));
 
-            routingHandler.add(method.toString(), uri, handler);
+            router.add(method, uri, handler);
             logRouteMapping(method.toString(), uri, clazz);
             if (eventListener != null) {
                 eventListener.onHandlerCreated(method, primaryUri, clazz);
@@ -23,13 +23,22 @@
 package io.injest.core.boot;
 
 import io.injest.core.InjestApplication;
+import io.injest.core.util.JsonCodecs;
 import io.injest.core.util.Log;
+import io.injest.core.util.WorkerQueue;
+import io.undertow.Handlers;
 import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
 import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.GracefulShutdownHandler;
+import io.undertow.util.Protocols;
+import org.xnio.Options;
 
 public class RestApplication {
 
     private Undertow server;
+    private GracefulShutdownHandler shutdownHandler;
+    private long shutdownTimeout;
     private final InjestApplication application;
     private static final Log LOG = Log.with(RestApplication.class);
     private static final long TICKER = System.currentTimeMillis();
@@ -38,16 +47,68 @@ public class RestApplication {
         this.application = application;
     }
 
-    void start(int port, String host, HttpHandler rootHandler) {
-        this.server = Undertow.builder()
-                .addHttpListener(port, host)
-                .setHandler(rootHandler)
-                .build();
+    void start(RestApplicationOptions options, HttpHandler rootHandler) {
+        this.shutdownHandler = Handlers.gracefulShutdown(rootHandler);
+        this.shutdownTimeout = options.getShutdownTimeout();
 
-        LOG.i("Starting HTTP server");
+        final Undertow.Builder builder = Undertow.builder()
+                .addHttpListener(options.getPort(), options.getHost())
+                .setIoThreads(options.getIoThreads())
+                .setWorkerThreads(options.getWorkerThreads())
+                .setBufferSize(options.getBufferSize())
+                .setDirectBuffers(options.isDirectBuffers())
+                .setHandler(exchange -> {
+                    // Ask HTTP/1.x clients to reconnect elsewhere while draining
+                    if (ApplicationState.getState() == ApplicationState.State.DRAINING
+                            && exchange.getProtocol() != Protocols.HTTP_2_0)
+                        exchange.setPersistent(false);
+                    shutdownHandler.handleRequest(exchange);
+                });
+
+        final StringBuilder ports = new StringBuilder().append(options.getPort());
+        for (RestApplicationOptions.Listener listener : options.getAdditionalListeners()) {
+            if (listener.sslContext != null) {
+                builder.addHttpsListener(listener.port, listener.host, listener.sslContext);
+                ports.append(", ").append(listener.port).append(" (https)");
+            } else {
+                builder.addHttpListener(listener.port, listener.host);
+                ports.append(", ").append(listener.port);
+            }
+        }
+
+        if (options.isHttp2())
+            builder.setServerOption(UndertowOptions.ENABLE_HTTP2, true);
+
+        if (options.getBacklog() != null)
+            builder.setSocketOption(Options.BACKLOG, options.getBacklog());
+        if (options.getTcpNoDelay() != null)
+            builder.setSocketOption(Options.TCP_NODELAY, options.getTcpNoDelay());
+        if (options.getIdleTimeout() != null)
+            builder.setServerOption(UndertowOptions.IDLE_TIMEOUT, options.getIdleTimeout());
+        if (options.getRequestParseTimeout() != null)
+            builder.setServerOption(UndertowOptions.REQUEST_PARSE_TIMEOUT, options.getRequestParseTimeout());
+        if (options.getNoRequestTimeout() != null)
+            builder.setServerOption(UndertowOptions.NO_REQUEST_TIMEOUT, options.getNoRequestTimeout());
+
+        this.server = builder.build();
+
+        // size the background worker pool now that configuration has been scanned
+        WorkerQueue.getInstance();
+
+        // serialize every known adapter once before the first request arrives
+        if (StaticConfig.getInstance().getBoolean(ConfigKeys.Json.JSON_WARM_UP).orElse(false)) {
+            final long warmUpStarted = System.currentTimeMillis();
+            final int warmedUp = JsonCodecs.warmUp();
+            LOG.i(String.format("Warmed up JSON serialization of %d adapter types in %d ms",
+                    warmedUp, System.currentTimeMillis() - warmUpStarted));
+        }
+
+        LOG.i(String.format("Starting HTTP server with %d IO threads, %d worker threads and %d byte %s buffers",
+                options.getIoThreads(), options.getWorkerThreads(), options.getBufferSize(),
+                options.isDirectBuffers() ? "direct" : "heap"));
         server.start();
 
-        LOG.i("HTTP server started on port "+ port);
+        LOG.i("HTTP server started on port "+ ports + (options.isHttp2() ? " with HTTP/2 enabled" : ""));
         LOG.i(String.format("Application started in %d ms", System.currentTimeMillis() - TICKER));
 
         application.onApplicationStarted();
@@ -56,9 +117,32 @@ public class RestApplication {
         ApplicationState.setState(ApplicationState.State.RUNNING);
     }
 
+    /**
+     * Stops the server gracefully. New requests are answered with 503 and
+     * Connection: close while in-flight requests and queued worker tasks
+     * drain, bounded by the configured shutdown timeout. The application's
+     * shutdown callback runs once draining is over
+     */
     private void stop() {
+        ApplicationState.setState(ApplicationState.State.DRAINING);
+        LOG.i(String.format("Draining in-flight requests for up to %d ms", shutdownTimeout));
+
+        final long deadline = System.currentTimeMillis() + shutdownTimeout;
+        shutdownHandler.shutdown();
+        boolean drained;
+        try {
+            drained = shutdownHandler.awaitShutdown(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drained = false;
+        }
+        drained &= WorkerQueue.getInstance().shutdown(Math.max(0L, deadline - System.currentTimeMillis()));
+        if (!drained)
+            LOG.w(String.format("In-flight work did not drain within %d ms", shutdownTimeout));
+
         application.onApplicationShutdown();
         server.stop();
+        ApplicationState.setState(ApplicationState.State.STOPPED);
         LOG.i("HTTP server stopped");
     }
 
@@ -31,6 +31,7 @@ import io.injest.core.annotations.directives.PackageRoot;
 import io.injest.core.util.Env;
 import io.injest.core.util.Log;
 import io.injest.core.util.ObjectUtils;
+import io.injest.core.util.VirtualThreads;
 import io.undertow.server.HttpHandler;
 import org.reflections.Reflections;
 import org.reflections.scanners.FieldAnnotationsScanner;
@@ -75,6 +76,9 @@ final public class RestApplicationInitializer {
         // Set deployment mode
         Env.setDeploymentMode(options.getDeploymentMode());
 
+        // Must be known before handlers are scanned
+        VirtualThreads.setEnabled(options.isVirtualThreads());
+
         this.baseApplication.onApplicationPreBootstrap();
     }
 
@@ -151,6 +155,6 @@ final public class RestApplicationInitializer {
      */
     private void launchApplication() {
         LOG.i("Starting REST application");
-        restApplication.start(options.getPort(), options.getHost(), rootHandler);
+        restApplication.start(options, rootHandler);
     }
 }
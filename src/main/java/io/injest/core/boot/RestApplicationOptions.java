@@ -22,8 +22,20 @@
 
 package io.injest.core.boot;
 
+import io.injest.core.Exceptions;
 import io.injest.core.InjestApplication;
 import io.injest.core.util.DeploymentMode;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class RestApplicationOptions {
 
@@ -31,6 +43,19 @@ public class RestApplicationOptions {
     private String host;
     private DeploymentMode deploymentMode;
     private Class<? extends InjestApplication> mainClass;
+    private final List<Listener> additionalListeners = new ArrayList<>();
+    private boolean http2 = false;
+    private boolean virtualThreads = false;
+    private int ioThreads;
+    private int workerThreads;
+    private int bufferSize;
+    private Boolean directBuffers;
+    private Integer backlog;
+    private Boolean tcpNoDelay;
+    private Integer idleTimeout;
+    private Integer requestParseTimeout;
+    private Integer noRequestTimeout;
+    private long shutdownTimeout = 30_000L;
 
     /**
      * Private constructor, only builder class can create a
@@ -93,6 +118,179 @@ public class RestApplicationOptions {
         return this;
     }
 
+    /**
+     * Adds another HTTP listener in addition to the one bound to the
+     * primary port and host
+     * @param port port number
+     * @param host name or IP of the host
+     * @return builder instance
+     */
+    public RestApplicationOptions addListener(int port, String host) {
+        this.additionalListeners.add(new Listener(port, host, null));
+        return this;
+    }
+
+    /**
+     * Adds an HTTPS listener using a prepared SSL context
+     * @param port       port number
+     * @param host       name or IP of the host
+     * @param sslContext initialized SSL context
+     * @return builder instance
+     */
+    public RestApplicationOptions addHttpsListener(int port, String host, SSLContext sslContext) {
+        this.additionalListeners.add(new Listener(port, host, sslContext));
+        return this;
+    }
+
+    /**
+     * Adds an HTTPS listener using the key and certificate chain from a local
+     * keystore (PKCS12 or JKS). The keystore is loaded immediately, so an
+     * invalid keystore or password fails the build of these options
+     * @param port         port number
+     * @param host         name or IP of the host
+     * @param keystorePath path to the keystore file
+     * @param password     password of the keystore and its key
+     * @return builder instance
+     */
+    public RestApplicationOptions addHttpsListener(int port, String host, String keystorePath, String password) {
+        return addHttpsListener(port, host, createSslContext(keystorePath, password));
+    }
+
+    /**
+     * Enables HTTP/2. HTTPS listeners negotiate h2 through ALPN, plain HTTP
+     * listeners accept both the h2c upgrade and prior-knowledge h2c, and
+     * HTTP/1.1 clients keep working on every listener. Defaults to false
+     * @param http2 enable HTTP/2
+     * @return builder instance
+     */
+    public RestApplicationOptions setHttp2(boolean http2) {
+        this.http2 = http2;
+        return this;
+    }
+
+    /**
+     * Runs every blocking handler and WorkerQueue task on virtual threads
+     * instead of pooled platform threads. Handlers can opt in individually
+     * with Blocking(virtual = true). Requires Java 21+, older runtimes log
+     * a warning and keep using platform threads. Defaults to false
+     * @param virtualThreads enable virtual threads
+     * @return builder instance
+     */
+    public RestApplicationOptions setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * Sets the number of XNIO IO threads. These threads accept connections and
+     * run non-blocking handlers, so they should never block. Defaults to the
+     * number of available processors (at least 2)
+     * @param ioThreads number of IO threads
+     * @return builder instance
+     */
+    public RestApplicationOptions setIoThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads that run Blocking handlers.
+     * Defaults to 8 per IO thread
+     * @param workerThreads number of worker threads
+     * @return builder instance
+     */
+    public RestApplicationOptions setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+        return this;
+    }
+
+    /**
+     * Sets the size in bytes of the pooled buffers used for reading and
+     * writing. Defaults to 16KB (less some overhead) when the JVM has at
+     * least 128MB of heap, smaller otherwise
+     * @param bufferSize buffer size in bytes
+     * @return builder instance
+     */
+    public RestApplicationOptions setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Sets whether pooled buffers are allocated off-heap. Defaults to true
+     * when the JVM has at least 64MB of heap
+     * @param directBuffers use direct buffers
+     * @return builder instance
+     */
+    public RestApplicationOptions setDirectBuffers(boolean directBuffers) {
+        this.directBuffers = directBuffers;
+        return this;
+    }
+
+    /**
+     * Sets the maximum length of the queue of pending connections
+     * @param backlog connection backlog
+     * @return builder instance
+     */
+    public RestApplicationOptions setBacklog(int backlog) {
+        this.backlog = backlog;
+        return this;
+    }
+
+    /**
+     * Sets TCP_NODELAY on accepted connections, disabling Nagle's algorithm
+     * @param tcpNoDelay enable TCP_NODELAY
+     * @return builder instance
+     */
+    public RestApplicationOptions setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return this;
+    }
+
+    /**
+     * Sets how long a connection may be idle before it is closed
+     * @param idleTimeout timeout in milliseconds
+     * @return builder instance
+     */
+    public RestApplicationOptions setIdleTimeout(int idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Sets how long the server waits for a request to be fully parsed
+     * once it has started arriving
+     * @param requestParseTimeout timeout in milliseconds
+     * @return builder instance
+     */
+    public RestApplicationOptions setRequestParseTimeout(int requestParseTimeout) {
+        this.requestParseTimeout = requestParseTimeout;
+        return this;
+    }
+
+    /**
+     * Sets how long a connection may stay open without receiving
+     * a request before it is closed
+     * @param noRequestTimeout timeout in milliseconds
+     * @return builder instance
+     */
+    public RestApplicationOptions setNoRequestTimeout(int noRequestTimeout) {
+        this.noRequestTimeout = noRequestTimeout;
+        return this;
+    }
+
+    /**
+     * Sets how long a graceful shutdown waits for in-flight requests and
+     * queued worker tasks to finish before the server is stopped. Zero
+     * stops the server immediately. Defaults to 30 seconds
+     * @param shutdownTimeout timeout in milliseconds
+     * @return builder instance
+     */
+    public RestApplicationOptions setShutdownTimeout(long shutdownTimeout) {
+        this.shutdownTimeout = Math.max(0L, shutdownTimeout);
+        return this;
+    }
+
     int getPort() {
         return port;
     }
@@ -108,4 +306,97 @@ public class RestApplicationOptions {
     String getHost() {
         return host;
     }
+
+    private static SSLContext createSslContext(String keystorePath, String password) {
+        final char[] secret = password == null ? new char[0] : password.toCharArray();
+        try (InputStream in = Files.newInputStream(Paths.get(keystorePath))) {
+            final KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            keyStore.load(in, secret);
+            final KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(keyStore, secret);
+            final SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+            return sslContext;
+        } catch (IOException | GeneralSecurityException e) {
+            throw Exceptions.keystoreNotLoaded(keystorePath, e);
+        }
+    }
+
+    boolean isHttp2() {
+        return http2;
+    }
+
+    boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    List<Listener> getAdditionalListeners() {
+        return Collections.unmodifiableList(additionalListeners);
+    }
+
+    int getIoThreads() {
+        return ioThreads > 0 ? ioThreads : Math.max(Runtime.getRuntime().availableProcessors(), 2);
+    }
+
+    int getWorkerThreads() {
+        return workerThreads > 0 ? workerThreads : getIoThreads() * 8;
+    }
+
+    int getBufferSize() {
+        if (bufferSize > 0)
+            return bufferSize;
+        final long maxMemory = Runtime.getRuntime().maxMemory();
+        if (maxMemory < 64 * 1024 * 1024)
+            return 512;
+        if (maxMemory < 128 * 1024 * 1024)
+            return 1024;
+        return 1024 * 16 - 20;
+    }
+
+    boolean isDirectBuffers() {
+        if (directBuffers != null)
+            return directBuffers;
+        return Runtime.getRuntime().maxMemory() >= 64 * 1024 * 1024;
+    }
+
+    Integer getBacklog() {
+        return backlog;
+    }
+
+    Boolean getTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    Integer getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    Integer getRequestParseTimeout() {
+        return requestParseTimeout;
+    }
+
+    Integer getNoRequestTimeout() {
+        return noRequestTimeout;
+    }
+
+    long getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    /**
+     * An additional port and host to accept connections on. Listeners
+     * with an SSL context accept HTTPS
+     */
+    static final class Listener {
+
+        final int port;
+        final String host;
+        final SSLContext sslContext;
+
+        Listener(int port, String host, SSLContext sslContext) {
+            this.port = port;
+            this.host = host;
+            this.sslContext = sslContext;
+        }
+    }
 }
@@ -22,64 +22,167 @@
 
 package io.injest.core.http;
 
-import io.injest.core.annotations.handlers.ErrorHandler;
+import io.injest.core.annotations.directives.AdapterPoolSize;
+import io.injest.core.boot.ConfigKeys;
+import io.injest.core.boot.StaticConfig;
 import io.undertow.UndertowMessages;
 import io.undertow.util.ObjectPool;
 import io.undertow.util.PooledObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.ParameterizedType;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Pool of idle adapters for a handler. Idle adapters are kept in a
+ * lock-free array split into stripes, and each thread only touches the
+ * stripe its id maps to, so concurrent requests on a hot route rarely
+ * compete for the same slots. The capacity is taken from the handler's
+ * AdapterPoolSize annotation, the adapterPoolSize config value, or twice
+ * the number of processors (at least 8)
+ */
 public class AdapterPool<A extends Adapter> implements ObjectPool<A> {
 
-    private final Handler<A> handler;
-    private final LinkedBlockingDeque<A> pool = new LinkedBlockingDeque<>(8);
-    private final AtomicInteger overflowCounter = new AtomicInteger(0);
+    private final Constructor<? extends Adapter> adapterConstructor;
+    private final AtomicReferenceArray<A> slots;
+    private final int stripeMask;
+    private final int stripeSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
 
     AdapterPool(Handler<A> handler) {
-        this.handler = handler;
+        this.adapterConstructor = HandlerDescriptor.findAdapterConstructor(handler.getClass());
+
+        final int capacity = findCapacity(handler.getClass());
+        final int stripes = capacity == 0 ? 1 : stripeCount(capacity);
+        this.stripeMask = stripes - 1;
+        this.stripeSize = (capacity + stripes - 1) / stripes;
+        this.slots = new AtomicReferenceArray<>(stripes * stripeSize);
+
         A preCached = this.supply();
-        if (preCached != null)
-            this.pool.offer(preCached);
+        if (preCached != null && stripeSize > 0)
+            this.slots.set(stripeOffset(), preCached);
+    }
+
+    /**
+     * Find the configured capacity for a handler class
+     *
+     * @param handlerClass handler class
+     * @return capacity
+     */
+    private static int findCapacity(Class<?> handlerClass) {
+        final int capacity;
+        if (handlerClass.isAnnotationPresent(AdapterPoolSize.class))
+            capacity = handlerClass.getAnnotation(AdapterPoolSize.class).value();
+        else
+            capacity = StaticConfig.getInstance().getInt(ConfigKeys.ADAPTER_POOL_SIZE)
+                    .orElse(Math.max(8, Runtime.getRuntime().availableProcessors() * 2));
+        return Math.max(0, capacity);
+    }
+
+    /**
+     * One stripe per processor (rounded up to a power of two), but never
+     * more stripes than there are slots
+     *
+     * @param capacity pool capacity
+     * @return power of two stripe count
+     */
+    private static int stripeCount(int capacity) {
+        int stripes = 1;
+        final int target = Math.min(capacity, Runtime.getRuntime().availableProcessors());
+        while (stripes < target)
+            stripes <<= 1;
+        while (stripes > capacity)
+            stripes >>= 1;
+        return stripes;
+    }
+
+    private int stripeOffset() {
+        return ((int) Thread.currentThread().getId() & stripeMask) * stripeSize;
     }
 
     @Override
     public PooledObject<A> allocate() {
-        A adapter = pool.poll();
-        if (adapter == null) {
-            adapter = this.supply();
-            if (adapter == null)
-                return null;
-            pool.offer(adapter);
+        final int offset = stripeOffset();
+        for (int i = offset; i < offset + stripeSize; i++) {
+            final A adapter = slots.get(i);
+            if (adapter != null && slots.compareAndSet(i, adapter, null)) {
+                hits.increment();
+                return new PooledAdapter<>(adapter, this);
+            }
         }
+        misses.increment();
+        final A adapter = this.supply();
+        if (adapter == null)
+            return null;
         return new PooledAdapter<>(adapter, this);
     }
 
     @SuppressWarnings("unchecked")
     private A supply() {
+        if (adapterConstructor == null)
+            return null;
         try {
-            if (handler.getClass().getSuperclass().isAnnotationPresent(ErrorHandler.class)) {
-                return null;
-            } else {
-                final Class<A> adapterClass = (Class<A>) ((ParameterizedType) handler.getClass()
-                        .getGenericSuperclass()).getActualTypeArguments()[0];
-                final Constructor<A> rConstructor = adapterClass.getDeclaredConstructor();
-                rConstructor.setAccessible(true);
-                return rConstructor.newInstance();
-            }
-        } catch (NoSuchMethodException
-                | IllegalAccessException
+            return (A) adapterConstructor.newInstance();
+        } catch (IllegalAccessException
                 | InvocationTargetException
                 | InstantiationException e) {
             return null;
         }
     }
 
+    /**
+     * Reset an adapter and return it to the calling thread's stripe
+     *
+     * @param adapter adapter
+     */
     void recycle(A adapter) {
         adapter.clear();
+        final int offset = stripeOffset();
+        for (int i = offset; i < offset + stripeSize; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, adapter))
+                return;
+        }
+        // stripe is full of reset adapters, let this one go
+        overflows.increment();
+    }
+
+    /**
+     * Gets the number of idle adapters this pool can hold
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Gets the number of allocations served by an idle adapter
+     *
+     * @return hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of allocations that had to create a new adapter
+     *
+     * @return miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of adapters dropped because their stripe was full
+     *
+     * @return overflow count
+     */
+    public long getOverflows() {
+        return overflows.sum();
     }
 
     private static final class PooledAdapter<T extends Adapter> implements PooledObject<T> {
@@ -104,13 +207,8 @@ public class AdapterPool<A extends Adapter> implements ObjectPool<A> {
 
         @Override
         public void close() {
-            if (closedUpdater.compareAndSet(this, 0, 1)) {
+            if (closedUpdater.compareAndSet(this, 0, 1))
                 objectPool.recycle(object);
-                if (!objectPool.pool.offer(object)) {
-                    // nothing to do. queue is full of reset adapters
-                    objectPool.overflowCounter.incrementAndGet();
-                }
-            }
         }
     }
 }
@@ -22,71 +22,386 @@
 
 package io.injest.core.http;
 
+import io.injest.core.Exceptions;
 import io.injest.core.InjestMessages;
 import io.injest.core.boot.ConfigKeys;
 import io.injest.core.boot.StaticConfig;
 import io.injest.core.util.Env;
 import io.injest.core.util.Log;
+import io.undertow.io.Receiver;
+import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.server.RequestTooBigException;
 import io.undertow.server.handlers.form.FormData;
+import io.undertow.server.handlers.form.FormEncodedDataDefinition;
 import io.undertow.server.handlers.form.FormDataParser;
 import io.undertow.server.handlers.form.FormParserFactory;
-import java.io.BufferedReader;
+import io.undertow.server.handlers.form.MultiPartParserDefinition;
+import io.undertow.util.AttachmentKey;
+import io.undertow.util.Headers;
+import io.undertow.util.Protocols;
+import io.undertow.util.SameThreadExecutor;
+import io.undertow.util.StatusCodes;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 
 final class BodyParser {
 
+    /**
+     * Raw request body bytes, attached once the body has been read
+     * asynchronously
+     */
+    static final AttachmentKey<byte[]> RAW_BODY = AttachmentKey.create(byte[].class);
+
     private final HttpServerExchange exchange;
-    private final HashMap<String, Deque<String>> values = new HashMap<>();
     private static final Log LOG = Log.with(BodyParser.class);
-    private static final String CHARSET = StaticConfig.getInstance().getString(ConfigKeys.REQUEST_BODY_CHARSET).orElse("UTF-8");
+    private static final Charset CHARSET = Charset.forName(
+            StaticConfig.getInstance().getString(ConfigKeys.REQUEST_BODY_CHARSET).orElse("UTF-8"));
+    private static final boolean JSON_DETECTABLE = CHARSET.name().startsWith("UTF-");
+    private static final long DEFAULT_FILE_SIZE_THRESHOLD = 64 * 1024;
+    private static final long MAX_FORM_SIZE = StaticConfig.getInstance().getLong(ConfigKeys.Form.MAX_SIZE).orElse(-1L);
+    private static final FormParserFactory FORM_PARSER_FACTORY = createParserFactory();
+    private static final int INITIAL_BUFFER = 8192;
+    private static final int MAX_INITIAL_BUFFER = 64 * 1024;
 
     BodyParser(HttpServerExchange exchange) {
         this.exchange = exchange;
     }
 
-    HashMap<String, Deque<String>> parseFormData() {
+    /**
+     * Determine if the request carries a body, either with a fixed
+     * content-length or a chunked transfer-encoding. HTTP/2 streams
+     * need neither, so an HTTP/2 request counts while its stream is
+     * still open or once its body has been read
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @return true if a body is expected
+     */
+    static boolean isBodyPresent(HttpServerExchange exchange) {
+        if (exchange.getRequestHeaders().contains(Headers.CONTENT_LENGTH)
+                || exchange.getRequestHeaders().contains(Headers.TRANSFER_ENCODING))
+            return true;
+        return exchange.getProtocol() == Protocols.HTTP_2_0
+                && (!exchange.isRequestComplete() || isRead(exchange));
+    }
+
+    /**
+     * Determine if the request body is JSON and should be read raw
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @return true if content-type is JSON
+     */
+    static boolean isJson(HttpServerExchange exchange) {
+        return ContentType.JSON.equals(exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE));
+    }
+
+    /**
+     * Determine if the request body is a form, urlencoded or multipart
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @return true if content-type is a form type
+     */
+    static boolean isForm(HttpServerExchange exchange) {
+        final String contentType = exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE);
+        return contentType != null
+                && (contentType.regionMatches(true, 0, FormEncodedDataDefinition.APPLICATION_X_WWW_FORM_URLENCODED, 0,
+                FormEncodedDataDefinition.APPLICATION_X_WWW_FORM_URLENCODED.length())
+                || contentType.regionMatches(true, 0, MultiPartParserDefinition.MULTIPART_FORM_DATA, 0,
+                MultiPartParserDefinition.MULTIPART_FORM_DATA.length()));
+    }
+
+    /**
+     * Apply a size limit to the request body before any of it is read.
+     * Form bodies are also held to the configured form maximum. A
+     * content-length over the limit is answered with 413 at once and the
+     * connection is closed rather than drained. Otherwise the limit is set
+     * on the exchange, so that a chunked body fails as soon as it grows
+     * past it
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @param maxSize  body size limit of the handler, 0 or less if unlimited
+     * @return true if the request was rejected and the caller must return
+     */
+    static boolean rejectOversized(HttpServerExchange exchange, long maxSize) {
+        long limit = maxSize;
+        if (MAX_FORM_SIZE > 0 && (limit <= 0 || MAX_FORM_SIZE < limit) && isForm(exchange))
+            limit = MAX_FORM_SIZE;
+        if (limit <= 0 || !exchange.isRequestChannelAvailable() || isRead(exchange))
+            return false;
+        if (exchange.getRequestContentLength() > limit) {
+            exchange.setStatusCode(StatusCodes.REQUEST_ENTITY_TOO_LARGE);
+            exchange.setPersistent(false);
+            exchange.endExchange();
+            return true;
+        }
+        if (exchange.getMaxEntitySize() <= 0 || exchange.getMaxEntitySize() > limit)
+            exchange.setMaxEntitySize(limit);
+        return false;
+    }
+
+    /**
+     * Determine if an exception, or any of its causes, was thrown because
+     * the request body or one of its parts exceeded its size limit
+     *
+     * @param e exception
+     * @return true if a size limit was exceeded
+     */
+    static boolean isTooLarge(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RequestTooBigException
+                    || cause instanceof MultiPartParserDefinition.FileTooLargeException)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Start reading the request body without blocking. Form bodies are
+     * parsed by Undertow's non-blocking form parser, anything else is
+     * collected as raw bytes as it arrives. Once the body has arrived, the
+     * next handler is invoked again with the body attached to the exchange
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @param next     handler to invoke once the body has been read
+     * @return true if a read was started and the caller must return
+     * @throws Exception thrown by the form parser
+     */
+    static boolean readAsync(HttpServerExchange exchange, HttpHandler next) throws Exception {
+        if (!isBodyPresent(exchange) || exchange.isBlocking() || isRead(exchange))
+            return false;
 
+        final FormDataParser formDataParser = isJson(exchange) ? null : createParser(exchange);
+        if (formDataParser != null) {
+            formDataParser.parse(next);
+            return true;
+        }
+
+        final BodyCollector collector = new BodyCollector(next, exchange.getRequestContentLength());
+        exchange.getRequestReceiver().receivePartialBytes(collector, (serverExchange, e) -> {
+            InjestMessages.errorParsingBodyParameters(serverExchange, e.getMessage()).toErrorLog(LOG);
+            if (Env.isDevelopment())
+                e.printStackTrace();
+            if (!serverExchange.isResponseStarted())
+                serverExchange.setStatusCode(isTooLarge(e) ? StatusCodes.REQUEST_ENTITY_TOO_LARGE : 400);
+            serverExchange.endExchange();
+        });
+        return true;
+    }
+
+    /**
+     * Determine if the body has already been read asynchronously
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @return true if raw bytes or form data are attached
+     */
+    private static boolean isRead(HttpServerExchange exchange) {
+        return exchange.getAttachment(RAW_BODY) != null
+                || exchange.getAttachment(FormDataParser.FORM_DATA) != null;
+    }
+
+    /**
+     * Build the form parser factory shared by all requests. Multipart
+     * file parts are kept in memory up to the configured threshold and
+     * spilled to the temp directory beyond it, while they are parsed
+     *
+     * @return form parser factory
+     */
+    private static FormParserFactory createParserFactory() {
+        final StaticConfig config = StaticConfig.getInstance();
+        final MultiPartParserDefinition multiPart = new MultiPartParserDefinition()
+                .setTempFileLocation(Paths.get(config.getString(ConfigKeys.Form.TEMP_DIR)
+                        .orElse(System.getProperty("java.io.tmpdir"))));
+        multiPart.setFileSizeThreshold(config.getLong(ConfigKeys.Form.FILE_SIZE_THRESHOLD).orElse(DEFAULT_FILE_SIZE_THRESHOLD));
+        multiPart.setMaxIndividualFileSize(config.getLong(ConfigKeys.Form.MAX_PART_SIZE).orElse(-1L));
+        return FormParserFactory.builder(false)
+                .addParsers(new FormEncodedDataDefinition(), multiPart)
+                .withDefaultCharset(CHARSET.name())
+                .build();
+    }
+
+    /**
+     * Create a parser for a form body. The configured maximum form size
+     * has already been applied to the exchange by rejectOversized
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @return form parser, or null if the body is not a form
+     */
+    private static FormDataParser createParser(HttpServerExchange exchange) {
+        return FORM_PARSER_FACTORY.createParser(exchange);
+    }
+
+    /**
+     * Gets the parsed form body, parsing it with blocking reads if it has
+     * not been read asynchronously
+     *
+     * @return form data, or null if the body is not a form or could not
+     * be parsed
+     */
+    FormData getFormData() {
+        FormData formData = exchange.getAttachment(FormDataParser.FORM_DATA);
+        if (formData != null)
+            return formData;
         try {
-            final FormParserFactory.Builder builder = FormParserFactory.builder();
-            builder.setDefaultCharset(CHARSET);
-            final FormDataParser formDataParser = builder.build().createParser(exchange);
+            final FormDataParser formDataParser = createParser(exchange);
             if (formDataParser != null) {
                 exchange.startBlocking();
-                final FormData formData = formDataParser.parseBlocking();
-                for (String data : formData) {
-                    final Deque<String> dataValues = new ArrayDeque<>();
-                    for (FormData.FormValue formValue : formData.get(data))
-                        dataValues.add(formValue.getValue());
-                    this.values.put(data, dataValues);
-                }
+                formData = formDataParser.parseBlocking();
             }
         } catch (IOException e) {
             InjestMessages.errorParsingBodyParameters(exchange, e.getMessage()).toErrorLog(LOG);
+            if (isTooLarge(e))
+                throw Exceptions.requestBodyTooLarge(exchange.getMaxEntitySize(), e);
             if (Env.isDevelopment())
                 e.printStackTrace();
         }
+        return formData;
+    }
+
+    /**
+     * Gets the form fields of the body as parameters. File parts are left
+     * out, they are read through HttpRequest.parts
+     *
+     * @return field values by name
+     */
+    HashMap<String, Deque<String>> parseFormData() {
+        final HashMap<String, Deque<String>> values = new HashMap<>();
+        final FormData formData = getFormData();
+        if (formData != null) {
+            for (String data : formData) {
+                final Deque<String> dataValues = new ArrayDeque<>();
+                for (FormData.FormValue formValue : formData.get(data)) {
+                    if (!formValue.isFileItem())
+                        dataValues.add(formValue.getValue());
+                }
+                if (!dataValues.isEmpty())
+                    values.put(data, dataValues);
+            }
+        }
         return values;
     }
 
-    String parseRaw() {
+    /**
+     * Gets the raw request body. Bodies read asynchronously are returned
+     * as attached, otherwise the input stream is read in full. The first
+     * buffer is sized by the content-length up to 64 KB, and grows only as
+     * more of the body actually arrives
+     *
+     * @return body bytes, or null if the body could not be read
+     */
+    byte[] parseBytes() {
+        final byte[] bytes = exchange.getAttachment(RAW_BODY);
+        if (bytes != null)
+            return bytes;
         try {
             exchange.startBlocking();
-            StringBuilder stringBuilder = new StringBuilder();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(exchange.getInputStream()));
-            String currentLine;
-            while ((currentLine = reader.readLine()) != null)
-                stringBuilder.append(currentLine);
-            return stringBuilder.toString();
+            final long contentLength = exchange.getRequestContentLength();
+            final InputStream input = exchange.getInputStream();
+            byte[] buffer = new byte[initialBufferSize(contentLength)];
+            int length = 0;
+            int read;
+            while (true) {
+                if (length == buffer.length) {
+                    // don't grow unless more arrives, the buffer may be exact
+                    final int next = input.read();
+                    if (next == -1)
+                        break;
+                    buffer = Arrays.copyOf(buffer, buffer.length << 1);
+                    buffer[length++] = (byte) next;
+                }
+                if ((read = input.read(buffer, length, buffer.length - length)) == -1)
+                    break;
+                length += read;
+            }
+            final byte[] body = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+            exchange.putAttachment(RAW_BODY, body);
+            return body;
         } catch (IOException e) {
             InjestMessages.errorParsingBodyParameters(exchange, e.getMessage()).toErrorLog(LOG);
+            if (isTooLarge(e))
+                throw Exceptions.requestBodyTooLarge(exchange.getMaxEntitySize(), e);
             if (Env.isDevelopment())
                 e.printStackTrace();
             return null;
         }
     }
+
+    /**
+     * Size the first buffer of a raw body read. The content-length is
+     * trusted only up to 64 KB, so a client cannot make the server
+     * allocate more than it actually sends. Both the async and blocking
+     * reads grow the buffer as more of the body arrives
+     *
+     * @param contentLength declared content-length, -1 if none was sent
+     * @return initial buffer size
+     */
+    private static int initialBufferSize(long contentLength) {
+        return contentLength > 0
+                ? (int) Math.min(contentLength, MAX_INITIAL_BUFFER)
+                : INITIAL_BUFFER;
+    }
+
+    /**
+     * Open the request body for blocking reads as it arrives, without
+     * buffering it. Must be called off the IO thread
+     *
+     * @return body input stream
+     */
+    InputStream openStream() {
+        exchange.startBlocking();
+        return exchange.getInputStream();
+    }
+
+    /**
+     * Gets the configured request body charset
+     *
+     * @return charset
+     */
+    static Charset getCharset() {
+        return CHARSET;
+    }
+
+    /**
+     * Determine if the configured charset is one of the Unicode encodings
+     * Jackson detects on its own, so JSON can be parsed from the body
+     * bytes without decoding them first
+     *
+     * @return true for UTF-8, UTF-16 and UTF-32
+     */
+    static boolean isJsonDetectable() {
+        return JSON_DETECTABLE;
+    }
+
+    /**
+     * Collects a body received in chunks on the IO thread, growing its
+     * buffer as the chunks arrive
+     */
+    private static final class BodyCollector implements Receiver.PartialBytesCallback {
+
+        private final HttpHandler next;
+        private byte[] buffer;
+        private int length;
+
+        BodyCollector(HttpHandler next, long contentLength) {
+            this.next = next;
+            this.buffer = new byte[initialBufferSize(contentLength)];
+        }
+
+        @Override
+        public void handle(HttpServerExchange exchange, byte[] message, boolean last) {
+            if (length + message.length > buffer.length)
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, length + message.length));
+            System.arraycopy(message, 0, buffer, length, message.length);
+            length += message.length;
+            if (last) {
+                exchange.putAttachment(RAW_BODY, length == buffer.length ? buffer : Arrays.copyOf(buffer, length));
+                exchange.dispatch(SameThreadExecutor.INSTANCE, next);
+            }
+        }
+    }
 }
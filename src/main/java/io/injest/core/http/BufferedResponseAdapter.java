@@ -22,27 +22,65 @@
 
 package io.injest.core.http;
 
-import java.io.ByteArrayInputStream;
+import io.undertow.util.ETag;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Date;
 
+/**
+ * Adapter for raw binary responses. A file body is streamed from its
+ * FileChannel straight to the connection (sendfile where the platform
+ * supports it), so the handler does not need to be blocking and the
+ * content is never copied through the heap. Bodies with a validator
+ * answer conditional requests with 304 and byte range requests with 206
+ */
 public class BufferedResponseAdapter extends TextResponseAdapter {
 
-    private transient InputStream inputStream;
+    private transient Path path;
+    private transient ByteBuffer buffer;
     private transient long length = 0L;
+    private transient ETag eTag;
+    private transient long lastModified = 0L;
 
+    /**
+     * Sets a file as the response body
+     *
+     * @param file file to send
+     * @throws IOException if the file does not exist or cannot be read
+     */
     public void setBody(File file) throws IOException {
-        this.inputStream = new FileInputStream(file);
-        this.length = file.length();
+        this.setBody(file.toPath());
+    }
+
+    /**
+     * Sets a file as the response body. A strong ETag and the
+     * Last-Modified date are derived from the file's size and
+     * modification time
+     *
+     * @param path path of the file to send
+     * @throws IOException if the file does not exist or cannot be read
+     */
+    public void setBody(Path path) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (!attributes.isRegularFile())
+            throw new NoSuchFileException(path.toString());
+        this.length = attributes.size();
+        this.lastModified = attributes.lastModifiedTime().toMillis();
+        this.eTag = new ETag(false, Long.toHexString(lastModified) + "-" + Long.toHexString(length));
+        this.path = path;
+        this.buffer = null;
     }
 
     @Override
     public void setBody(String s) {
         try {
-            this.setBody(new File(s));
+            this.setBody(Paths.get(s));
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
@@ -50,21 +88,62 @@ public class BufferedResponseAdapter extends TextResponseAdapter {
 
     @Override
     public void setBody(ByteBuffer byteBuffer) {
-        this.inputStream = new ByteArrayInputStream(byteBuffer.array());
+        this.buffer = byteBuffer;
+        this.length = byteBuffer.remaining();
+        this.eTag = null;
+        this.lastModified = 0L;
+        this.path = null;
+    }
+
+    /**
+     * Replace the entity tag of the body, e.g. with a content hash.
+     * Weak tags only satisfy If-None-Match, so they never allow a
+     * partial response. Must be called after the body is set
+     *
+     * @param tag  opaque tag value, without quotes
+     * @param weak true if the tag is a weak validator
+     */
+    public void setETag(String tag, boolean weak) {
+        this.eTag = tag == null ? null : new ETag(weak, tag);
+    }
+
+    /**
+     * Replace the modification date of the body. Must be called after
+     * the body is set
+     *
+     * @param lastModified epoch millis, or 0 if unknown
+     */
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
     }
 
-    InputStream getInputStream() {
-        return inputStream;
+    Path getPath() {
+        return path;
+    }
+
+    ByteBuffer getBuffer() {
+        return buffer;
     }
 
     long getStreamLength() {
         return length;
     }
 
+    ETag getETag() {
+        return eTag;
+    }
+
+    Date getLastModified() {
+        return lastModified > 0L ? new Date(lastModified) : null;
+    }
+
     @Override
     public void clear() {
         super.clear();
-        inputStream = null;
+        path = null;
+        buffer = null;
         length = 0L;
+        eTag = null;
+        lastModified = 0L;
     }
 }
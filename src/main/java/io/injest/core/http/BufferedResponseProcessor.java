@@ -22,15 +22,29 @@
 
 package io.injest.core.http;
 
+import io.injest.core.boot.ConfigKeys;
+import io.injest.core.boot.StaticConfig;
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.ByteRange;
 import io.undertow.util.HeaderMap;
 import io.undertow.util.Headers;
+import io.undertow.util.Methods;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 class BufferedResponseProcessor extends TextResponseProcessor {
 
+    private static final long[] NO_RANGES = new long[0];
+    private static final int MAX_RANGES = StaticConfig.getInstance().getInt(ConfigKeys.MAX_BYTE_RANGES).orElse(16);
+
     private final BufferedResponseAdapter adapter;
 
     BufferedResponseProcessor(HandlerInstance instance) {
@@ -39,54 +53,325 @@ class BufferedResponseProcessor extends TextResponseProcessor {
         this.isBuffered = true;
     }
 
-    @Override
-    ResponseState processRequest() {
-        final Handler<?> handler = handlerInstance.getHandler();
-        if (handler.isBlocking())
-            return super.processRequest();
-        ResponseWriter writer = new ResponseWriter();
-        ErrorAdapter errorAdapter = writer.createErrorAdapter(String.format(
-                "Attempting to send BufferedResponse without using blocking I/O. Use the Blocking annotation on the handler [%s]",
-                handler.getClass().getName()));
-        adapter.replace(errorAdapter);
-        return new ResponseState(
-                500,
-                ResponseState.RequestStatus.INVALID,
-                ResponseState.AdapterStatus.REPLACED);
-    }
-
     @Override
     ResponseBody createResponseBody(ResponseState state, String contentType) {
         if (state.requestStatus == ResponseState.RequestStatus.INVALID) {
             return super.createResponseBody(state, contentType);
         } else {
-            this.sendBufferedResponse(state.statusCode, contentType);
+            this.sendBufferedResponse();
             return new ResponseBody(false);
         }
     }
 
-    private void sendBufferedResponse(int status, String contentType) {
+    /**
+     * Send the adapter's body with the exchange's async sender. Files are
+     * transferred from their FileChannel, which lets the connection use
+     * sendfile instead of copying the content through the heap. A 200
+     * response is first checked against the request's preconditions and
+     * Range header, and may become a 304, 412, 206 or 416 response
+     */
+    private void sendBufferedResponse() {
 
-        final Handler<?> handler = handlerInstance.getHandler();
         final HttpServerExchange serverExchange = exchange.getNativeExchange();
+        final HttpResponse response = exchange.getResponse();
         final HeaderMap responseHeaders = serverExchange.getResponseHeaders();
+        final long length = adapter.getStreamLength();
 
-        serverExchange.setResponseContentLength(adapter.getStreamLength());
-        responseHeaders.put(Headers.STATUS, status);
-        responseHeaders.put(Headers.CONTENT_TYPE, contentType);
-        serverExchange.startBlocking();
-
-        try (final OutputStream outputStream = serverExchange.getOutputStream();
-             final InputStream inputStream = adapter.getInputStream()) {
-            byte[] buf = new byte[0x2000];
-            int c;
-            while ((c = inputStream.read(buf, 0, buf.length)) > 0) {
-                outputStream.write(buf, 0, c);
-                outputStream.flush();
+        long[] ranges = null;
+        if (response.getStatusCode() == 200) {
+            final int status = Preconditions.evaluate(serverExchange, adapter.getETag(), adapter.getLastModified());
+            Preconditions.putValidators(responseHeaders, adapter.getETag(), adapter.getLastModified());
+            responseHeaders.put(Headers.ACCEPT_RANGES, "bytes");
+            if (status != 200) {
+                response.setStatusCode(status);
+                sendEmptyResponse(serverExchange, response);
+                return;
+            }
+            ranges = findRanges(serverExchange, length);
+            if (ranges == NO_RANGES) {
+                response.setStatusCode(416);
+                responseHeaders.put(Headers.CONTENT_RANGE, "bytes */" + length);
+                sendEmptyResponse(serverExchange, response);
+                return;
             }
-            handler.onResponseSent(exchange.getRequest(), exchange.getResponse());
+        }
+
+        // the adapter returns to its pool once the handler is done, so read
+        // the body out of it before the response can leave this thread
+        final Path path = adapter.getPath();
+        final ByteBuffer buffer = adapter.getBuffer();
+
+        // opening a file may block, so leave the IO thread first, as
+        // RangeTransfer does before reading file regions
+        if (path != null && serverExchange.isInIoThread()) {
+            final long[] dispatchedRanges = ranges;
+            serverExchange.dispatch(() -> sendBody(serverExchange, response, path, buffer, length, dispatchedRanges));
+            return;
+        }
+        sendBody(serverExchange, response, path, buffer, length, ranges);
+    }
+
+    /**
+     * Send the body of a 200 or 206 response, opening its file if it has one
+     *
+     * @param serverExchange Undertow HttpServerExchange
+     * @param response       response
+     * @param path           file to send, or null for a buffer body
+     * @param buffer         buffer body, or null
+     * @param length         body length
+     * @param ranges         start and end offset pairs, or null for the full body
+     */
+    private void sendBody(HttpServerExchange serverExchange, HttpResponse response, Path path,
+                          ByteBuffer buffer, long length, long[] ranges) {
+        final HeaderMap responseHeaders = serverExchange.getResponseHeaders();
+        final Sender sender = serverExchange.getResponseSender();
+
+        final FileChannel channel;
+        try {
+            channel = path != null ? FileChannel.open(path, StandardOpenOption.READ) : null;
         } catch (IOException e) {
-            handler.onResponseError(exchange.getRequest(), exchange.getResponse(), e);
+            serverExchange.setStatusCode(500);
+            handlerInstance.onException(serverExchange, sender, e);
+            serverExchange.endExchange();
+            return;
+        }
+
+        if (ranges != null) {
+            response.setStatusCode(206);
+            sendRanges(serverExchange, response, channel, buffer, length, ranges);
+            return;
+        }
+
+        response.finalizeStatusCode();
+        serverExchange.setResponseContentLength(length);
+        responseHeaders.put(Headers.STATUS, response.getStatusCode());
+        responseHeaders.put(Headers.CONTENT_TYPE, response.getContentType());
+
+        if (channel != null) {
+            sender.transferFrom(channel, new ClosingCallback(channel));
+        } else {
+            sender.send(buffer == null ? ByteBuffer.allocate(0) : buffer.duplicate(), new ClosingCallback(null));
+        }
+    }
+
+    /**
+     * Resolve the Range header of a GET request against the body length.
+     * Ranges are only honoured if If-Range, when present, still matches
+     * the body
+     *
+     * @param serverExchange Undertow HttpServerExchange
+     * @param length         body length
+     * @return start and end offset pairs (inclusive), NO_RANGES if none
+     * can be satisfied, or null to send the whole body
+     */
+    private long[] findRanges(HttpServerExchange serverExchange, long length) {
+        final HeaderMap requestHeaders = serverExchange.getRequestHeaders();
+        final String header = requestHeaders.getFirst(Headers.RANGE);
+        if (header == null || !Methods.GET.equals(serverExchange.getRequestMethod()))
+            return null;
+        if (!Preconditions.isIfRangeSatisfied(requestHeaders.getFirst(Headers.IF_RANGE),
+                adapter.getETag(), adapter.getLastModified()))
+            return null;
+        return parseRanges(header, length);
+    }
+
+    /**
+     * Parse a Range header against the body length, clamping open and
+     * suffix ranges to the body and dropping those that start past its
+     * end. Overlapping ranges are coalesced
+     *
+     * @param header Range header value
+     * @param length body length
+     * @return start and end offset pairs (inclusive), NO_RANGES if none
+     * can be satisfied, or null if the header is invalid
+     */
+    static long[] parseRanges(String header, long length) {
+        final ByteRange byteRange = ByteRange.parse(header);
+        if (byteRange == null || byteRange.getRanges() > MAX_RANGES)
+            return null;
+
+        final long[] ranges = new long[byteRange.getRanges() * 2];
+        int count = 0;
+        for (int i = 0; i < byteRange.getRanges(); i++) {
+            long start = byteRange.getStart(i);
+            long end = byteRange.getEnd(i);
+            if (start == -1) {
+                // suffix range, the last n bytes
+                if (end <= 0)
+                    continue;
+                start = Math.max(0L, length - end);
+                end = length - 1;
+            } else {
+                end = end == -1 ? length - 1 : Math.min(end, length - 1);
+            }
+            if (start >= length || start > end)
+                continue;
+            ranges[count++] = start;
+            ranges[count++] = end;
+        }
+        if (count == 0)
+            return NO_RANGES;
+        return coalesce(ranges, count);
+    }
+
+    /**
+     * Merge overlapping or adjacent ranges. Ranges are kept in the order
+     * requested unless some of them have to be merged
+     *
+     * @param ranges start and end offset pairs
+     * @param count  number of used slots in ranges
+     * @return merged ranges
+     */
+    static long[] coalesce(long[] ranges, int count) {
+        boolean overlapping = false;
+        for (int i = 0; i < count && !overlapping; i += 2) {
+            for (int j = i + 2; j < count; j += 2) {
+                if (ranges[i] <= ranges[j + 1] + 1 && ranges[j] <= ranges[i + 1] + 1) {
+                    overlapping = true;
+                    break;
+                }
+            }
+        }
+        if (!overlapping)
+            return count == ranges.length ? ranges : Arrays.copyOf(ranges, count);
+
+        // insertion sort by start offset, there are only a handful of ranges
+        for (int i = 2; i < count; i += 2) {
+            final long start = ranges[i];
+            final long end = ranges[i + 1];
+            int j = i - 2;
+            while (j >= 0 && ranges[j] > start) {
+                ranges[j + 2] = ranges[j];
+                ranges[j + 3] = ranges[j + 1];
+                j -= 2;
+            }
+            ranges[j + 2] = start;
+            ranges[j + 3] = end;
+        }
+        int merged = 0;
+        for (int i = 2; i < count; i += 2) {
+            if (ranges[i] <= ranges[merged + 1] + 1) {
+                ranges[merged + 1] = Math.max(ranges[merged + 1], ranges[i + 1]);
+            } else {
+                merged += 2;
+                ranges[merged] = ranges[i];
+                ranges[merged + 1] = ranges[i + 1];
+            }
+        }
+        return Arrays.copyOf(ranges, merged + 2);
+    }
+
+    /**
+     * Send a 206 response. A single range is sent as is, several ranges
+     * as a multipart/byteranges body
+     *
+     * @param serverExchange Undertow HttpServerExchange
+     * @param response       response
+     * @param channel        file channel, or null for a buffer body
+     * @param buffer         buffer body, if there is no file channel
+     * @param length         body length
+     * @param ranges         start and end offset pairs
+     */
+    private void sendRanges(HttpServerExchange serverExchange, HttpResponse response, FileChannel channel,
+                            ByteBuffer buffer, long length, long[] ranges) {
+        final HeaderMap responseHeaders = serverExchange.getResponseHeaders();
+        final String contentType = response.getContentType();
+        final int parts = ranges.length / 2;
+        final RangeTransfer transfer;
+
+        if (parts == 1) {
+            transfer = new RangeTransfer(serverExchange, handlerInstance, channel, 1);
+            addRange(transfer, 0, buffer, ranges[0], ranges[1]);
+            responseHeaders.put(Headers.CONTENT_TYPE, contentType);
+            responseHeaders.put(Headers.CONTENT_RANGE, contentRange(ranges[0], ranges[1], length));
+        } else {
+            final String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            transfer = new RangeTransfer(serverExchange, handlerInstance, channel, parts * 2 + 1);
+            for (int i = 0; i < parts; i++) {
+                final long start = ranges[i * 2];
+                final long end = ranges[i * 2 + 1];
+                transfer.setBuffer(i * 2, ascii(String.format("\r\n--%s\r\n%s: %s\r\n%s: %s\r\n\r\n",
+                        boundary, Headers.CONTENT_TYPE_STRING, contentType,
+                        Headers.CONTENT_RANGE_STRING, contentRange(start, end, length))));
+                addRange(transfer, i * 2 + 1, buffer, start, end);
+            }
+            transfer.setBuffer(parts * 2, ascii("\r\n--" + boundary + "--\r\n"));
+            responseHeaders.put(Headers.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+        }
+
+        response.finalizeStatusCode();
+        responseHeaders.put(Headers.STATUS, response.getStatusCode());
+        serverExchange.setResponseContentLength(transfer.getLength());
+        transfer.start();
+    }
+
+    private static void addRange(RangeTransfer transfer, int segment, ByteBuffer buffer, long start, long end) {
+        if (buffer == null) {
+            transfer.setRegion(segment, start, end - start + 1);
+        } else {
+            final ByteBuffer slice = buffer.duplicate();
+            slice.position(slice.position() + (int) start);
+            slice.limit(slice.position() + (int) (end - start + 1));
+            transfer.setBuffer(segment, slice);
+        }
+    }
+
+    /**
+     * Send the response status and headers without a body
+     *
+     * @param serverExchange Undertow HttpServerExchange
+     * @param response       response
+     */
+    private void sendEmptyResponse(HttpServerExchange serverExchange, HttpResponse response) {
+        response.finalizeStatusCode();
+        serverExchange.getResponseHeaders().put(Headers.STATUS, response.getStatusCode());
+        if (response.getStatusCode() != 304)
+            serverExchange.setResponseContentLength(0L);
+        serverExchange.endExchange();
+        handlerInstance.onComplete(serverExchange, serverExchange.getResponseSender());
+    }
+
+    private static String contentRange(long start, long end, long length) {
+        return "bytes " + start + "-" + end + "/" + length;
+    }
+
+    private static ByteBuffer ascii(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Closes the file channel once the body has been written, then
+     * completes the exchange the same way as any other response
+     */
+    private final class ClosingCallback implements IoCallback {
+
+        private final FileChannel channel;
+
+        ClosingCallback(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void onComplete(HttpServerExchange httpServerExchange, Sender sender) {
+            closeChannel();
+            IoCallback.END_EXCHANGE.onComplete(httpServerExchange, sender);
+            sender.close(handlerInstance);
+        }
+
+        @Override
+        public void onException(HttpServerExchange httpServerExchange, Sender sender, IOException e) {
+            closeChannel();
+            IoCallback.END_EXCHANGE.onException(httpServerExchange, sender, e);
+            handlerInstance.onException(httpServerExchange, sender, e);
+        }
+
+        private void closeChannel() {
+            if (channel == null)
+                return;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
         }
     }
 }
@@ -25,24 +25,68 @@ package io.injest.core.http;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 
+/**
+ * Parameters of all sources in one flat store. Entries are appended set
+ * by set in source order and tagged with their source, so values of a
+ * key collected across sources keep that order
+ */
 class CollectedParameters {
 
-    private final TreeMap<String, Mappings> mappings = new TreeMap<>();
+    private static final ParameterSource[] SOURCES = ParameterSource.values();
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final Deque<String>[] values;
+    private final byte[] sources;
+    private final int size;
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
     CollectedParameters(ParameterSet... parameterSets) {
+        int capacity = 0;
+        for (ParameterSet set : parameterSets) {
+            if (set != null)
+                capacity += set.size();
+        }
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.values = new Deque[capacity];
+        this.sources = new byte[capacity];
+        int count = 0;
         for (ParameterSet set : parameterSets) {
             if (set != null) {
-                Set<String> keySet = set.keySet();
-                for (String key : keySet) {
-                    Mappings m = mappings.getOrDefault(key, new Mappings());
-                    m.add(set.getSource(), set.getValues(key));
-                    mappings.put(key, m);
+                final byte source = (byte) set.getSource().ordinal();
+                for (int i = 0; i < set.size(); i++) {
+                    keys[count] = set.keyAt(i);
+                    hashes[count] = set.hashAt(i);
+                    values[count] = set.valuesAt(i);
+                    sources[count] = source;
+                    count++;
                 }
             }
         }
+        this.size = count;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String keyAt(int index) {
+        return keys[index];
+    }
+
+    int hashAt(int index) {
+        return hashes[index];
+    }
+
+    Deque<String> valuesAt(int index) {
+        return values[index];
+    }
+
+    ParameterSource sourceAt(int index) {
+        return SOURCES[sources[index]];
     }
 
     /**
@@ -55,10 +99,12 @@ class CollectedParameters {
      * @return true if it exists
      */
     boolean containsKey(String key, ParameterSource source) {
-        return mappings.containsKey(key) &&
-                (source == ParameterSource.ANY
-                        || mappings.get(key).keyExistsForSource(ParameterSource.INJECTED)
-                        || mappings.get(key).keyExistsForSource(source));
+        final int hash = key.hashCode();
+        for (int i = 0; i < size; i++) {
+            if (hashes[i] == hash && keys[i].equals(key) && matches(i, source))
+                return true;
+        }
+        return false;
     }
 
     /**
@@ -68,16 +114,31 @@ class CollectedParameters {
      *
      * @param key    the key
      * @param source the source
-     * @return an array deque of the collected values
+     * @return values of the key, or null if it does not exist
      */
     Deque<String> getCollectedValues(String key, ParameterSource source) {
-        if (source == ParameterSource.ANY)
-            return mappings.get(key).ofSource();
-        Deque<String> injectedValues = mappings.get(key)
-                .ofSource(ParameterSource.INJECTED);
-        if (injectedValues != null)
-            return injectedValues;
-        return mappings.get(key).ofSource(source);
+        final int hash = key.hashCode();
+        Deque<String> found = null;
+        Deque<String> collected = null;
+        for (int i = 0; i < size; i++) {
+            if (hashes[i] != hash || !keys[i].equals(key))
+                continue;
+            if (source == ParameterSource.ANY) {
+                // concatenate only once a second source has the key
+                if (found == null) {
+                    found = values[i];
+                } else {
+                    if (collected == null)
+                        collected = new ArrayDeque<>(found);
+                    collected.addAll(values[i]);
+                }
+            } else if (sources[i] == ParameterSource.INJECTED.ordinal()) {
+                return values[i];
+            } else if (sources[i] == source.ordinal()) {
+                found = values[i];
+            }
+        }
+        return collected != null ? collected : found;
     }
 
     /**
@@ -88,68 +149,22 @@ class CollectedParameters {
      */
     Map<String, Deque<String>> getCollectedValues() {
         Map<String, Deque<String>> output = new TreeMap<>();
-        for (String key : mappings.keySet()) {
-            Mappings m = mappings.get(key);
-            Deque<String> values = new ArrayDeque<>();
-            for (Deque<String> v : m.data.values())
-                values.addAll(v);
-            output.put(key, values);
-        }
+        for (int i = 0; i < size; i++)
+            output.computeIfAbsent(keys[i], k -> new ArrayDeque<>()).addAll(values[i]);
         return output;
     }
 
     /**
-     * Holder class for all parameter mappings
+     * Determine if the entry at an index is visible from a source
+     *
+     * @param index  entry index
+     * @param source the source
+     * @return true for any source, injected entries and entries of the source
      */
-    private static class Mappings {
-
-        /**
-         *
-         */
-        TreeMap<ParameterSource, Deque<String>> data = new TreeMap<>();
-
-        /**
-         * Adds a set of values to the given source
-         *
-         * @param source the parameter source
-         * @param values the collection of values
-         */
-        void add(ParameterSource source, Deque<String> values) {
-            data.put(source, values);
-        }
-
-        /**
-         * Determines if parameters exist in a source for a given key
-         *
-         * @param source the parameter source
-         * @return true if the parameter exists
-         */
-        boolean keyExistsForSource(ParameterSource source) {
-            return data.containsKey(source);
-        }
-
-        /**
-         * Gets values from a parameter source
-         *
-         * @param source the parameter source
-         * @return the collection of values
-         */
-        Deque<String> ofSource(ParameterSource source) {
-            if (keyExistsForSource(source))
-                return data.get(source);
-            return null;
-        }
-
-        /**
-         * Gets values from all parameter sources
-         *
-         * @return the collection of values
-         */
-        Deque<String> ofSource() {
-            Deque<String> values = new ArrayDeque<>();
-            for (ParameterSource source : data.keySet())
-                values.addAll(data.get(source));
-            return values;
-        }
+    private boolean matches(int index, ParameterSource source) {
+        final ParameterSource entrySource = SOURCES[sources[index]];
+        return source == ParameterSource.ANY
+                || entrySource == ParameterSource.INJECTED
+                || entrySource == source;
     }
 }
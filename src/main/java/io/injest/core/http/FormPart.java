@@ -0,0 +1,167 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.Exceptions;
+import io.undertow.server.handlers.form.FormData;
+import io.undertow.util.Headers;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A part of a form body, either a field or a file. File parts larger
+ * than the configured threshold were spilled to a temp file while the
+ * body was parsed, and are deleted once the exchange completes unless
+ * moved elsewhere with {@link #moveTo(Path)}
+ */
+final public class FormPart {
+
+    private final String name;
+    private final FormData.FormValue value;
+
+    FormPart(String name, FormData.FormValue value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isFile() {
+        return value.isFileItem();
+    }
+
+    /**
+     * Gets the file name sent by the client
+     *
+     * @return file name, or null for fields
+     */
+    public String getFileName() {
+        return value.getFileName();
+    }
+
+    /**
+     * Gets the content type of the part
+     *
+     * @return content type, or null if the client sent none
+     */
+    public String getContentType() {
+        return value.getHeaders() == null ? null : value.getHeaders().getFirst(Headers.CONTENT_TYPE);
+    }
+
+    /**
+     * Gets a header of the part
+     *
+     * @param headerName header name
+     * @return header value, or null if it was not sent
+     */
+    public String getHeader(String headerName) {
+        return value.getHeaders() == null ? null : value.getHeaders().getFirst(headerName);
+    }
+
+    /**
+     * Gets the value of a field
+     *
+     * @return field value, or null for files
+     */
+    public String getValue() {
+        return isFile() ? null : value.getValue();
+    }
+
+    /**
+     * Determine if the content of a file part is held in memory rather
+     * than in a temp file
+     *
+     * @return true for fields and files below the spill threshold
+     */
+    public boolean isInMemory() {
+        return !isFile() || value.getFileItem().isInMemory();
+    }
+
+    /**
+     * Gets the size of a file part
+     *
+     * @return size in bytes, or -1 for fields
+     * @throws IOException thrown if the temp file cannot be read
+     */
+    public long getSize() throws IOException {
+        return isFile() ? value.getFileItem().getFileSize() : -1;
+    }
+
+    /**
+     * Open the content of the part for reading
+     *
+     * @return input stream of the file content or the field value
+     * @throws IOException thrown if the temp file cannot be opened
+     */
+    public InputStream openStream() throws IOException {
+        if (isFile())
+            return value.getFileItem().getInputStream();
+        final String charset = value.getCharset();
+        return new ByteArrayInputStream(value.getValue().getBytes(
+                charset == null ? BodyParser.getCharset() : Charset.forName(charset)));
+    }
+
+    /**
+     * Open the content of the part as a channel. Parts spilled to a temp
+     * file are opened as a {@link FileChannel}, e.g. to transfer them to
+     * another channel without copying through the heap
+     *
+     * @return readable channel
+     * @throws IOException thrown if the temp file cannot be opened
+     */
+    public ReadableByteChannel openChannel() throws IOException {
+        if (!isInMemory())
+            return FileChannel.open(value.getFileItem().getFile(), StandardOpenOption.READ);
+        return Channels.newChannel(openStream());
+    }
+
+    /**
+     * Move the content of a file part to a path, renaming the temp file
+     * where possible instead of copying it
+     *
+     * @param target target path, replaced if it exists
+     * @throws IOException           thrown if the content cannot be written
+     * @throws IllegalStateException if the part is a field
+     */
+    public void moveTo(Path target) throws IOException {
+        if (!isFile())
+            throw Exceptions.formPartNotAFile(name);
+        value.getFileItem().write(target);
+    }
+
+    @Override
+    public String toString() {
+        return isFile()
+                ? String.format("FormPart{name=%s, fileName=%s}", name, getFileName())
+                : String.format("FormPart{name=%s}", name);
+    }
+}
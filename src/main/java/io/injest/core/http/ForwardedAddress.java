@@ -0,0 +1,411 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.InjestMessages;
+import io.injest.core.boot.ConfigKeys;
+import io.injest.core.boot.StaticConfig;
+import io.injest.core.util.Log;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.HttpString;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the client address of a request from a forwarded-for header.
+ * Only IPv4 and IPv6 literals are accepted, so the resolver is never
+ * consulted. When trusted proxies are configured, the header is only
+ * honoured if the peer is a trusted proxy, and is walked from right to
+ * left skipping trusted hops. Otherwise the left-most valid address wins
+ */
+final class ForwardedAddress {
+
+    private static final Log LOG = Log.with(ForwardedAddress.class);
+    private static final HttpString HEADER = findHeader();
+    private static final Cidr[] TRUSTED_PROXIES = findTrustedProxies();
+
+    private static HttpString findHeader() {
+        final StaticConfig config = StaticConfig.getInstance();
+        if (!config.has(ConfigKeys.Net.FORWARDED_IP_HEADER))
+            return null;
+        return HttpString.tryFromString(config.getString(ConfigKeys.Net.FORWARDED_IP_HEADER).orElse("x-forwarded-for"));
+    }
+
+    private static Cidr[] findTrustedProxies() {
+        final String[] entries = StaticConfig.getInstance().getStringArray(ConfigKeys.Net.TRUSTED_PROXIES).orElse(new String[0]);
+        final List<Cidr> proxies = new ArrayList<>(entries.length);
+        for (String entry : entries) {
+            final Cidr cidr = Cidr.parse(entry);
+            if (cidr != null)
+                proxies.add(cidr);
+            else
+                InjestMessages.invalidTrustedProxy(entry).toWarningLog(LOG);
+        }
+        return proxies.toArray(new Cidr[0]);
+    }
+
+    /**
+     * Resolve the client address for an exchange
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @return client address, or the peer address if none was forwarded
+     */
+    static InetAddress resolve(HttpServerExchange exchange) {
+        return resolve(exchange, HEADER, TRUSTED_PROXIES);
+    }
+
+    /**
+     * Resolve the client address for an exchange from a given header and
+     * set of trusted proxies
+     *
+     * @param exchange       Undertow HttpServerExchange
+     * @param header         forwarded-for header, or null if none is honoured
+     * @param trustedProxies trusted proxy networks, empty to trust any peer
+     * @return client address, or the peer address if none was forwarded
+     */
+    static InetAddress resolve(HttpServerExchange exchange, HttpString header, Cidr[] trustedProxies) {
+        final InetSocketAddress source = exchange.getSourceAddress();
+        final InetAddress peer = source == null ? null : source.getAddress();
+        if (header == null)
+            return peer;
+
+        final HeaderValues values = exchange.getRequestHeaders().get(header);
+        if (values == null || values.isEmpty())
+            return peer;
+
+        final byte[] client;
+        if (trustedProxies.length == 0) {
+            client = findLeftmost(values);
+        } else {
+            if (peer == null || !isTrusted(normalize(peer.getAddress()), trustedProxies))
+                return peer;
+            client = findRightmostUntrusted(values, trustedProxies);
+        }
+        if (client == null)
+            return peer;
+        try {
+            return InetAddress.getByAddress(client);
+        } catch (UnknownHostException e) {
+            return peer;
+        }
+    }
+
+    /**
+     * Find the first valid address in the forwarded chain
+     *
+     * @param values header values
+     * @return address bytes or null
+     */
+    private static byte[] findLeftmost(HeaderValues values) {
+        for (String value : values) {
+            int start = 0;
+            while (start <= value.length()) {
+                int end = value.indexOf(',', start);
+                if (end < 0)
+                    end = value.length();
+                final byte[] address = parseEntry(value, start, end);
+                if (address != null)
+                    return address;
+                start = end + 1;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walk the forwarded chain from the right, skipping trusted proxies.
+     * Stops at the first untrusted hop, or at the last parsable hop if an
+     * entry cannot be parsed
+     *
+     * @param values         header values
+     * @param trustedProxies trusted proxy networks
+     * @return address bytes or null
+     */
+    private static byte[] findRightmostUntrusted(HeaderValues values, Cidr[] trustedProxies) {
+        byte[] candidate = null;
+        for (int i = values.size() - 1; i >= 0; i--) {
+            final String value = values.get(i);
+            int end = value.length();
+            while (end >= 0) {
+                final int start = value.lastIndexOf(',', end - 1) + 1;
+                final byte[] address = parseEntry(value, start, end);
+                if (address == null)
+                    return candidate;
+                candidate = address;
+                if (!isTrusted(address, trustedProxies))
+                    return candidate;
+                end = start - 1;
+            }
+        }
+        return candidate;
+    }
+
+    private static boolean isTrusted(byte[] address, Cidr[] trustedProxies) {
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.contains(address))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Parse a single forwarded entry. Accepts IPv4 with an optional port,
+     * bare IPv6 with an optional zone, and bracketed IPv6 with an
+     * optional port
+     *
+     * @param value header value
+     * @param start start index, inclusive
+     * @param end   end index, exclusive
+     * @return normalized address bytes, or null if the entry is not an IP literal
+     */
+    static byte[] parseEntry(String value, int start, int end) {
+        while (start < end && value.charAt(start) == ' ')
+            start++;
+        while (end > start && value.charAt(end - 1) == ' ')
+            end--;
+        if (start == end)
+            return null;
+
+        if (value.charAt(start) == '[') {
+            final int close = value.indexOf(']', start);
+            if (close < 0 || close >= end)
+                return null;
+            return normalize(parseIpv6(value, start + 1, close));
+        }
+
+        final int colon = value.indexOf(':', start);
+        if (colon < 0 || colon >= end)
+            return parseIpv4(value, start, end);
+        final int nextColon = value.indexOf(':', colon + 1);
+        if (nextColon < 0 || nextColon >= end)
+            return parseIpv4(value, start, colon);
+        return normalize(parseIpv6(value, start, end));
+    }
+
+    /**
+     * Parse a dotted-quad IPv4 literal
+     *
+     * @param value string
+     * @param start start index, inclusive
+     * @param end   end index, exclusive
+     * @return 4 address bytes, or null if invalid
+     */
+    static byte[] parseIpv4(CharSequence value, int start, int end) {
+        final byte[] address = new byte[4];
+        int octet = 0;
+        int digits = 0;
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            final char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet * 10 + (c - '0');
+                if (++digits > 3 || octet > 255)
+                    return null;
+            } else if (c == '.') {
+                if (digits == 0 || index == 3)
+                    return null;
+                address[index++] = (byte) octet;
+                octet = 0;
+                digits = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || index != 3)
+            return null;
+        address[index] = (byte) octet;
+        return address;
+    }
+
+    /**
+     * Parse an IPv6 literal, including compressed forms, a trailing
+     * dotted-quad and a zone id (which is discarded)
+     *
+     * @param value string
+     * @param start start index, inclusive
+     * @param end   end index, exclusive
+     * @return 16 address bytes, or null if invalid
+     */
+    static byte[] parseIpv6(CharSequence value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == '%') {
+                end = i;
+                break;
+            }
+        }
+        if (end - start < 2)
+            return null;
+
+        final byte[] address = new byte[16];
+        int index = 0;
+        int compressAt = -1;
+        int i = start;
+
+        if (value.charAt(i) == ':') {
+            if (value.charAt(i + 1) != ':')
+                return null;
+            compressAt = 0;
+            i += 2;
+        }
+
+        while (i < end) {
+            if (index == 16)
+                return null;
+            final int groupStart = i;
+            int group = 0;
+            int digits = 0;
+            while (i < end) {
+                final int digit = Character.digit(value.charAt(i), 16);
+                if (digit < 0)
+                    break;
+                group = (group << 4) | digit;
+                if (++digits > 4)
+                    return null;
+                i++;
+            }
+            if (i < end && value.charAt(i) == '.') {
+                if (index > 12)
+                    return null;
+                final byte[] ipv4 = parseIpv4(value, groupStart, end);
+                if (ipv4 == null)
+                    return null;
+                System.arraycopy(ipv4, 0, address, index, 4);
+                index += 4;
+                break;
+            }
+            if (digits == 0)
+                return null;
+            address[index++] = (byte) (group >> 8);
+            address[index++] = (byte) group;
+            if (i == end)
+                break;
+            if (value.charAt(i++) != ':' || i == end)
+                return null;
+            if (value.charAt(i) == ':') {
+                if (compressAt >= 0)
+                    return null;
+                compressAt = index;
+                i++;
+            }
+        }
+
+        if (compressAt >= 0) {
+            if (index == 16)
+                return null;
+            final int tail = index - compressAt;
+            System.arraycopy(address, compressAt, address, 16 - tail, tail);
+            for (int z = compressAt; z < 16 - tail; z++)
+                address[z] = 0;
+        } else if (index != 16) {
+            return null;
+        }
+        return address;
+    }
+
+    /**
+     * Collapse IPv4-mapped IPv6 addresses to their IPv4 form
+     *
+     * @param address address bytes, may be null
+     * @return 4 bytes for mapped addresses, otherwise the input
+     */
+    static byte[] normalize(byte[] address) {
+        if (address == null || address.length != 16)
+            return address;
+        for (int i = 0; i < 10; i++) {
+            if (address[i] != 0)
+                return address;
+        }
+        if (address[10] != (byte) 0xff || address[11] != (byte) 0xff)
+            return address;
+        return new byte[]{address[12], address[13], address[14], address[15]};
+    }
+
+    /**
+     * An address range in CIDR notation. A bare address is a range of one
+     */
+    static final class Cidr {
+
+        private final byte[] network;
+        private final int prefix;
+
+        private Cidr(byte[] network, int prefix) {
+            this.network = network;
+            this.prefix = prefix;
+        }
+
+        /**
+         * Parse a range such as 10.0.0.0/8, fd00::/8 or 192.168.1.10
+         *
+         * @param entry range
+         * @return parsed range, or null if invalid
+         */
+        static Cidr parse(String entry) {
+            if (entry == null)
+                return null;
+            final String trimmed = entry.trim();
+            final int slash = trimmed.indexOf('/');
+            final int end = slash < 0 ? trimmed.length() : slash;
+            final byte[] network = trimmed.indexOf(':') < 0
+                    ? parseIpv4(trimmed, 0, end)
+                    : normalize(parseIpv6(trimmed, 0, end));
+            if (network == null)
+                return null;
+            int prefix = network.length * 8;
+            if (slash >= 0) {
+                try {
+                    prefix = Integer.parseInt(trimmed.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+                // prefixes written against the IPv4-mapped range apply to the IPv4 address
+                if (network.length == 4 && trimmed.indexOf(':') >= 0)
+                    prefix -= 96;
+                if (prefix < 0 || prefix > network.length * 8)
+                    return null;
+            }
+            return new Cidr(network, prefix);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length)
+                return false;
+            int bits = prefix;
+            int i = 0;
+            for (; bits >= 8; bits -= 8, i++) {
+                if (address[i] != network[i])
+                    return false;
+            }
+            if (bits == 0)
+                return true;
+            final int mask = (0xff << (8 - bits)) & 0xff;
+            return (address[i] & mask) == (network[i] & mask);
+        }
+    }
+
+    private ForwardedAddress() {
+    }
+}
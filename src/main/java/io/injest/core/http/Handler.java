@@ -23,7 +23,6 @@
 package io.injest.core.http;
 
 import io.injest.core.Exceptions;
-import io.injest.core.annotations.directives.Blocking;
 import io.injest.core.boot.ApplicationState;
 import io.injest.core.util.WorkerQueue;
 import io.undertow.server.HttpHandler;
@@ -31,14 +30,15 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.util.AbstractAttachable;
 import io.undertow.util.AttachmentKey;
 import io.undertow.util.AttachmentList;
-import io.undertow.util.Headers;
 import io.undertow.util.PooledObject;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 public abstract class Handler<R extends Adapter> extends AbstractAttachable implements HttpHandler {
 
     private final AdapterPool<R> adapterPool;
+    private volatile HandlerDescriptor descriptor;
 
     protected Handler() {
         this.adapterPool = new AdapterPool<>(this);
@@ -51,7 +51,35 @@ public abstract class Handler<R extends Adapter> extends AbstractAttachable impl
      * @return if is off the IO thread
      */
     boolean isBlocking() {
-        return getAttachment(Blocking.ATTACHMENT_KEY) != null;
+        return getDescriptor().isBlocking();
+    }
+
+    /**
+     * Gets the pool of idle adapters for this handler, e.g.
+     * to read its hit, miss and overflow counters
+     *
+     * @return adapter pool
+     */
+    public AdapterPool<R> getAdapterPool() {
+        return adapterPool;
+    }
+
+    /**
+     * Gets the metadata of this handler. Handlers mapped by the package
+     * scanner carry a descriptor built at scan time, any other handler
+     * builds its own on first use
+     *
+     * @return handler descriptor
+     */
+    HandlerDescriptor getDescriptor() {
+        HandlerDescriptor current = descriptor;
+        if (current == null) {
+            current = getAttachment(HandlerDescriptor.ATTACHMENT_KEY);
+            if (current == null)
+                current = HandlerDescriptor.of(this);
+            descriptor = current;
+        }
+        return current;
     }
 
     /**
@@ -63,16 +91,23 @@ public abstract class Handler<R extends Adapter> extends AbstractAttachable impl
     @Override
     final public void handleRequest(HttpServerExchange serverExchange) throws Exception {
 
-        final boolean isIoThread = serverExchange.isInIoThread();
-        final boolean hasContentLength = serverExchange.getRequestHeaders().contains(Headers.CONTENT_LENGTH);
+        // reject a body over the size limit on the IO thread, before it is
+        // read or the request is dispatched
+        if (BodyParser.rejectOversized(serverExchange, getDescriptor().getMaxBodySize()))
+            return;
 
-        if (isBlocking() && isIoThread) {
-            serverExchange.dispatch(this);
+        // read any request body without blocking. This handler is invoked
+        // again on the IO thread once the body has arrived. Streaming
+        // handlers read the body themselves on a worker thread
+        if (!getDescriptor().isStreamingBody() && BodyParser.readAsync(serverExchange, this))
             return;
-        }
 
-        if (hasContentLength && isIoThread) {
-            serverExchange.dispatch(this);
+        if (isBlocking() && serverExchange.isInIoThread()) {
+            final Executor executor = getDescriptor().getBlockingExecutor();
+            if (executor != null)
+                serverExchange.dispatch(executor, this);
+            else
+                serverExchange.dispatch(this);
             return;
         }
 
@@ -98,7 +133,9 @@ public abstract class Handler<R extends Adapter> extends AbstractAttachable impl
     }
 
     /**
-     * Dispatch a worker thread to be executed in the background
+     * Dispatch a worker thread to be executed in the background. When the
+     * worker pool and its queue are full, the configured rejection policy
+     * of the {@link WorkerQueue} applies
      *
      * @param runnable Runnable object to run
      */
@@ -0,0 +1,245 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.annotations.directives.Blocking;
+import io.injest.core.annotations.directives.MaxBodySize;
+import io.injest.core.annotations.directives.Produces;
+import io.injest.core.annotations.directives.StreamingBody;
+import io.injest.core.annotations.handlers.ErrorHandler;
+import io.injest.core.boot.ConfigKeys;
+import io.injest.core.boot.StaticConfig;
+import io.injest.core.util.JsonCodecs;
+import io.injest.core.util.VirtualThreads;
+import io.undertow.util.AttachmentKey;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Immutable per-handler metadata, computed once when the handler is
+ * mapped so that the request path never has to consult annotations,
+ * configuration or generic type arguments
+ */
+final public class HandlerDescriptor {
+
+    public static final AttachmentKey<HandlerDescriptor> ATTACHMENT_KEY = AttachmentKey.create(HandlerDescriptor.class);
+
+    /**
+     * Request body size limit applied when neither the MaxBodySize
+     * annotation nor the maxRequestBodySize config value sets one
+     */
+    public static final long DEFAULT_MAX_BODY_SIZE = 10L * 1024 * 1024;
+
+    public enum ProcessorKind {
+        JSON, TEXT, BUFFERED
+    }
+
+    private final Class<?> handlerClass;
+    private final String contentType;
+    private final Charset charset;
+    private final Constructor<? extends Adapter> adapterConstructor;
+    private final ProcessorKind processorKind;
+    private final boolean blocking;
+    private final boolean streamingBody;
+    private final boolean streamOutput;
+    private final long maxBodySize;
+    private final Executor blockingExecutor;
+    private final Set<String> requiredParameters;
+    private final ParameterBinder<?> parameterBinder;
+
+    private HandlerDescriptor(Handler<?> handler) {
+        this.handlerClass = handler.getClass();
+        this.contentType = handlerClass.isAnnotationPresent(Produces.class)
+                ? handlerClass.getAnnotation(Produces.class).value()
+                : ContentType.getDefault();
+        this.charset = Charset.forName(StaticConfig.getInstance()
+                .getString(ConfigKeys.RESPONSE_CHARSET).orElse("UTF-8"));
+        this.adapterConstructor = findAdapterConstructor(handlerClass);
+        this.processorKind = findProcessorKind(adapterConstructor);
+        if (processorKind == ProcessorKind.JSON && adapterConstructor != null)
+            JsonCodecs.register(adapterConstructor.getDeclaringClass());
+        this.streamingBody = handlerClass.isAnnotationPresent(StreamingBody.class);
+        this.streamOutput = StaticConfig.getInstance().getBoolean(ConfigKeys.Json.JSON_STREAM_OUTPUT).orElse(false);
+        this.blocking = streamingBody || handler.getAttachment(Blocking.ATTACHMENT_KEY) != null;
+        this.blockingExecutor = blocking ? findBlockingExecutor(handlerClass) : null;
+        this.maxBodySize = handlerClass.isAnnotationPresent(MaxBodySize.class)
+                ? handlerClass.getAnnotation(MaxBodySize.class).value()
+                : StaticConfig.getInstance().getLong(ConfigKeys.MAX_REQUEST_BODY_SIZE).orElse(DEFAULT_MAX_BODY_SIZE);
+        final RequiredParameters required = handler.getAttachment(RequiredParameters.ATTACHMENT_KEY);
+        this.requiredParameters = required == null || required.getValues().isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(new HashSet<>(required.getValues()));
+        this.parameterBinder = handler.getAttachment(ParameterBinder.ATTACHMENT_KEY);
+    }
+
+    /**
+     * Create the descriptor of a handler. Must be called after all of the
+     * handler's attachments have been set
+     *
+     * @param handler handler
+     * @return descriptor
+     */
+    public static HandlerDescriptor of(Handler<?> handler) {
+        return new HandlerDescriptor(handler);
+    }
+
+    /**
+     * Resolve the no-arg constructor of the adapter declared as the type
+     * argument of a handler class
+     *
+     * @param handlerClass handler class
+     * @return accessible constructor, or null for error handlers and
+     * adapters that cannot be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    static Constructor<? extends Adapter> findAdapterConstructor(Class<?> handlerClass) {
+        if (handlerClass.getSuperclass().isAnnotationPresent(ErrorHandler.class))
+            return null;
+        final Type superType = handlerClass.getGenericSuperclass();
+        if (!(superType instanceof ParameterizedType))
+            return null;
+        final Type adapterType = ((ParameterizedType) superType).getActualTypeArguments()[0];
+        if (!(adapterType instanceof Class) || !Adapter.class.isAssignableFrom((Class<?>) adapterType))
+            return null;
+        try {
+            final Constructor<? extends Adapter> constructor =
+                    ((Class<? extends Adapter>) adapterType).getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static Executor findBlockingExecutor(Class<?> handlerClass) {
+        final Blocking annotation = handlerClass.getAnnotation(Blocking.class);
+        if (VirtualThreads.isEnabled() || (annotation != null && annotation.virtual()))
+            return VirtualThreads.getHandlerExecutor();
+        return null;
+    }
+
+    private static ProcessorKind findProcessorKind(Constructor<? extends Adapter> constructor) {
+        if (constructor == null)
+            return ProcessorKind.JSON;
+        final Class<?> adapterClass = constructor.getDeclaringClass();
+        if (BufferedResponseAdapter.class.isAssignableFrom(adapterClass))
+            return ProcessorKind.BUFFERED;
+        if (TextResponseAdapter.class.isAssignableFrom(adapterClass))
+            return ProcessorKind.TEXT;
+        return ProcessorKind.JSON;
+    }
+
+    public Class<?> getHandlerClass() {
+        return handlerClass;
+    }
+
+    /**
+     * Gets the response content type, from the Produces annotation
+     * or the configured default
+     *
+     * @return content type
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    Constructor<? extends Adapter> getAdapterConstructor() {
+        return adapterConstructor;
+    }
+
+    public ProcessorKind getProcessorKind() {
+        return processorKind;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    /**
+     * Determine if the request body is left unread for the handler to
+     * stream, rather than being buffered before it is invoked
+     *
+     * @return true if annotated with StreamingBody
+     */
+    public boolean isStreamingBody() {
+        return streamingBody;
+    }
+
+    /**
+     * Determine if JSON responses are encoded straight into the
+     * connection's pooled buffers, from the jsonStreamOutput config value
+     *
+     * @return true if enabled
+     */
+    public boolean isStreamOutput() {
+        return streamOutput;
+    }
+
+    /**
+     * Gets the maximum request body size, from the MaxBodySize annotation,
+     * the maxRequestBodySize config value or 10 MB. Either can be set to 0
+     * or less to lift the limit
+     *
+     * @return size in bytes, 0 or less if unlimited
+     */
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * Gets the executor blocking requests are dispatched to
+     *
+     * @return virtual thread executor, or null for the server's worker pool
+     */
+    public Executor getBlockingExecutor() {
+        return blockingExecutor;
+    }
+
+    /**
+     * Gets the parameters required by the RequireParams annotation
+     *
+     * @return unmodifiable set of parameter keys
+     */
+    public Set<String> getRequiredParameters() {
+        return requiredParameters;
+    }
+
+    /**
+     * Gets the binder of the BindParams annotation
+     *
+     * @return parameter binder, or null if the handler binds no parameters
+     */
+    public ParameterBinder<?> getParameterBinder() {
+        return parameterBinder;
+    }
+}
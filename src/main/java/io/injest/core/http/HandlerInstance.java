@@ -22,9 +22,6 @@
 
 package io.injest.core.http;
 
-import io.injest.core.annotations.directives.Produces;
-import io.injest.core.boot.ConfigKeys;
-import io.injest.core.boot.StaticConfig;
 import io.injest.core.util.Env;
 import io.injest.core.util.Log;
 import io.undertow.io.IoCallback;
@@ -40,6 +37,7 @@ class HandlerInstance<R extends Adapter> implements IoCallback {
     private static final Log LOG = Log.with(HandlerInstance.class);
 
     private final Handler<R> handler;
+    private final HandlerDescriptor descriptor;
     private final HttpServerExchange nativeExchange;
     private final HttpExchange exchange;
     private final Sender responseSender;
@@ -66,9 +64,9 @@ class HandlerInstance<R extends Adapter> implements IoCallback {
         this.responseHeaders = this.nativeExchange.getResponseHeaders();
         this.request = exchange.getRequest();
         this.response = exchange.getResponse();
-        this.contentType = findContentType();
-        this.charset = Charset.forName(StaticConfig.getInstance()
-                .getString(ConfigKeys.RESPONSE_CHARSET).orElse("UTF-8"));
+        this.descriptor = handler.getDescriptor();
+        this.contentType = descriptor.getContentType();
+        this.charset = descriptor.getCharset();
     }
 
     /**
@@ -116,11 +114,23 @@ class HandlerInstance<R extends Adapter> implements IoCallback {
 
             // if response body is awaiting dispatch, send the response
             if (responseBody.isWaiting()) {
+
+                // a request body that grew past its size limit has terminated
+                // the exchange already, leaving nothing to send
+                if (nativeExchange.isResponseStarted()) {
+                    responseBody.release();
+                    return;
+                }
                 response.finalizeStatusCode();
                 responseHeaders.put(Headers.STATUS, response.getStatusCode());
                 responseHeaders.put(Headers.CONTENT_TYPE, response.getContentType());
-                responseSender.send(responseBody.toString(), charset);
-                responseSender.close(this);
+                if (responseBody.isBuffered()) {
+                    responseHeaders.put(Headers.CONTENT_LENGTH, responseBody.getContentLength());
+                    responseSender.send(responseBody.getBuffers(), new ReleasingCallback(responseBody));
+                } else {
+                    responseSender.send(responseBody.toString(), charset);
+                    responseSender.close(this);
+                }
             }
 
         } else {
@@ -138,23 +148,6 @@ class HandlerInstance<R extends Adapter> implements IoCallback {
         }
     }
 
-    /**
-     * Determine the content-type for this request's response from
-     * reading the Produces annotation of the Handler's implementing
-     * class. Defaults to JSON (since this is a REST service)
-     *
-     * @return Content-Type for the response
-     */
-    private String findContentType() {
-        final Class<?> implementingClass = handler.getClass();
-        if (implementingClass.isAnnotationPresent(Produces.class)) {
-            Produces produces = implementingClass.getAnnotation(Produces.class);
-            return produces.value();
-        } else {
-            return ContentType.getDefault();
-        }
-    }
-
     Adapter getAdapter() {
         return definedAdapter;
     }
@@ -167,6 +160,14 @@ class HandlerInstance<R extends Adapter> implements IoCallback {
         return handler;
     }
 
+    HandlerDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    Charset getCharset() {
+        return charset;
+    }
+
     @Override
     public void onComplete(HttpServerExchange httpServerExchange, Sender sender) {
         response.setSuccess(true);
@@ -181,4 +182,31 @@ class HandlerInstance<R extends Adapter> implements IoCallback {
         handler.onResponseError(request, response, e);
         Interceptors.invokeEndingInterceptors(request, response);
     }
+
+    /**
+     * Returns the pooled buffers of a buffered response body once it
+     * has been written, then completes the exchange as usual
+     */
+    private final class ReleasingCallback implements IoCallback {
+
+        private final ResponseBody responseBody;
+
+        ReleasingCallback(ResponseBody responseBody) {
+            this.responseBody = responseBody;
+        }
+
+        @Override
+        public void onComplete(HttpServerExchange httpServerExchange, Sender sender) {
+            responseBody.release();
+            IoCallback.END_EXCHANGE.onComplete(httpServerExchange, sender);
+            sender.close(HandlerInstance.this);
+        }
+
+        @Override
+        public void onException(HttpServerExchange httpServerExchange, Sender sender, IOException e) {
+            responseBody.release();
+            IoCallback.END_EXCHANGE.onException(httpServerExchange, sender, e);
+            HandlerInstance.this.onException(httpServerExchange, sender, e);
+        }
+    }
 }
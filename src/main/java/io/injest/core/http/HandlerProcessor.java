@@ -22,9 +22,11 @@
 
 package io.injest.core.http;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import io.injest.core.boot.ConfigKeys;
 import io.injest.core.boot.StaticConfig;
 import io.injest.core.util.Env;
+import io.undertow.util.StatusCodes;
 import java.util.Arrays;
 
 import static io.injest.core.http.ResponseState.AdapterStatus;
@@ -61,8 +63,8 @@ class HandlerProcessor {
                     AdapterStatus.REPLACED);
         }
 
-        // if request has all required parameters
-        if (request.hasAllRequiredParameters()) {
+        // if request has all required parameters and they bind to the handler's parameter class
+        if (request.hasAllRequiredParameters() && request.bindParameters()) {
             try {
                 int statusCode = handler.handle(request, adapter);
 
@@ -105,14 +107,15 @@ class HandlerProcessor {
                 }
                 adapter.replace(errorAdapter);
                 return new ResponseState(
-                        500,
+                        BodyParser.isTooLarge(e) ? StatusCodes.REQUEST_ENTITY_TOO_LARGE : 500,
                         RequestStatus.INVALID,
                         AdapterStatus.REPLACED);
             }
         } else {
             request.invalidate();
-            final Adapter errorAdapter = writer.createErrorAdapter(
-                    String.format("Required parameters missing in request: %s", request.getMissingParams().toString()));
+            final Adapter errorAdapter = writer.createErrorAdapter(request.getMissingParams().isEmpty()
+                    ? String.format("Invalid parameters in request: %s", request.getParameterErrors().toString())
+                    : String.format("Required parameters missing in request: %s", request.getMissingParams().toString()));
             adapter.replace(errorAdapter);
             return new ResponseState(
                     staticConfig.getInt(ConfigKeys.DEFAULT_RESPONSE_CONTENT_TYPE).orElse(422),
@@ -130,6 +133,17 @@ class HandlerProcessor {
 
         // take topmost adapter from the adapter stack for serialization
         Adapter adapter = response.takeAdapter();
+
+        // encode straight into the connection's pooled buffers if enabled
+        if (handlerInstance.getDescriptor().isStreamOutput()) {
+            final JsonEncoding encoding = ResponseWriter.encodingFor(handlerInstance.getCharset());
+            if (encoding != null) {
+                final PooledBufferOutputStream output = writer.writeResponseJson(adapter,
+                        exchange.getNativeExchange().getConnection().getByteBufferPool(), encoding);
+                if (output != null)
+                    return new ResponseBody(output);
+            }
+        }
         return new ResponseBody(writer.getResponseJson(adapter));
     }
 }
@@ -25,13 +25,13 @@ package io.injest.core.http;
 class HandlerProcessorFactory {
 
     static HandlerProcessor from(HandlerInstance<?> instance) {
-
-        if (instance.getAdapter() instanceof BufferedResponseAdapter)
-            return new BufferedResponseProcessor(instance);
-
-        if (instance.getAdapter() instanceof TextResponseAdapter)
-            return new TextResponseProcessor(instance);
-
-        return new HandlerProcessor(instance);
+        switch (instance.getDescriptor().getProcessorKind()) {
+            case BUFFERED:
+                return new BufferedResponseProcessor(instance);
+            case TEXT:
+                return new TextResponseProcessor(instance);
+            default:
+                return new HandlerProcessor(instance);
+        }
     }
 }
@@ -22,11 +22,17 @@
 
 package io.injest.core.http;
 
+import io.injest.core.structs.IntList;
+import io.injest.core.structs.LongList;
 import io.injest.core.structs.Parcel;
+import io.injest.core.util.Primitives;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -306,8 +312,29 @@ final public class HttpParameters implements Parcel {
      */
     @Override
     public int getInt(String key) {
-        return parameterWrapper.get(source, key, Integer.class)
-                .orElse(Integer.MIN_VALUE);
+        return getInt(key, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Gets an int from params using key, parsed without boxing
+     *
+     * @param key          key
+     * @param defaultValue value if the key is missing or not an int
+     * @return int value or defaultValue
+     */
+    public int getInt(String key, int defaultValue) {
+        return Primitives.parseInt(parameterWrapper.getFirst(source, key), defaultValue);
+    }
+
+    /**
+     * Gets an int from params using key
+     *
+     * @param key key
+     * @return int value, empty if the key is missing or not an int
+     */
+    public OptionalInt getOptionalInt(String key) {
+        final long value = Primitives.parseIntOrInvalid(parameterWrapper.getFirst(source, key));
+        return value == Primitives.INVALID_INT ? OptionalInt.empty() : OptionalInt.of((int) value);
     }
 
     /**
@@ -318,8 +345,31 @@ final public class HttpParameters implements Parcel {
      */
     @Override
     public long getLong(String key) {
-        return parameterWrapper.get(source, key, Long.class)
-                .orElse(Long.MIN_VALUE);
+        return getLong(key, Long.MIN_VALUE);
+    }
+
+    /**
+     * Gets a long from params using key, parsed without boxing
+     *
+     * @param key          key
+     * @param defaultValue value if the key is missing or not a long
+     * @return long value or defaultValue
+     */
+    public long getLong(String key, long defaultValue) {
+        return Primitives.parseLong(parameterWrapper.getFirst(source, key), defaultValue);
+    }
+
+    /**
+     * Gets a long from params using key
+     *
+     * @param key key
+     * @return long value, empty if the key is missing or not a long
+     */
+    public OptionalLong getOptionalLong(String key) {
+        final String value = parameterWrapper.getFirst(source, key);
+        return Primitives.isLong(value)
+                ? OptionalLong.of(Primitives.parseLong(value, 0))
+                : OptionalLong.empty();
     }
 
     /**
@@ -330,8 +380,31 @@ final public class HttpParameters implements Parcel {
      */
     @Override
     public double getDouble(String key) {
-        return parameterWrapper.get(source, key, Double.class)
-                .orElse(Double.NaN);
+        return getDouble(key, Double.NaN);
+    }
+
+    /**
+     * Gets a double value from params using key. Accepts plain decimal
+     * and scientific notation
+     *
+     * @param key          key
+     * @param defaultValue value if the key is missing or not a number
+     * @return double value or defaultValue
+     */
+    public double getDouble(String key, double defaultValue) {
+        return Primitives.parseDouble(parameterWrapper.getFirst(source, key), defaultValue);
+    }
+
+    /**
+     * Gets a double value from params using key
+     *
+     * @param key key
+     * @return double value, empty if the key is missing or not a number
+     */
+    public OptionalDouble getOptionalDouble(String key) {
+        // NaN is not accepted as input, so it can only mean invalid here
+        final double value = Primitives.parseDouble(parameterWrapper.getFirst(source, key), Double.NaN);
+        return Double.isNaN(value) ? OptionalDouble.empty() : OptionalDouble.of(value);
     }
 
     /**
@@ -342,8 +415,19 @@ final public class HttpParameters implements Parcel {
      */
     @Override
     public float getFloat(String key) {
-        return parameterWrapper.get(source, key, Float.class)
-                .orElse(Float.NaN);
+        return getFloat(key, Float.NaN);
+    }
+
+    /**
+     * Gets a float value from params using key. Accepts plain decimal
+     * and scientific notation
+     *
+     * @param key          key
+     * @param defaultValue value if the key is missing or not a number
+     * @return float value or defaultValue
+     */
+    public float getFloat(String key, float defaultValue) {
+        return Primitives.parseFloat(parameterWrapper.getFirst(source, key), defaultValue);
     }
 
     /**
@@ -354,7 +438,19 @@ final public class HttpParameters implements Parcel {
      */
     @Override
     public boolean getBoolean(String key) {
-        return parameterWrapper.get(source, key, Boolean.class).orElse(false);
+        return getBoolean(key, false);
+    }
+
+    /**
+     * Gets a boolean value from params using key
+     *
+     * @param key          key
+     * @param defaultValue value if the key is missing or neither "true"
+     *                     nor "false", ignoring case
+     * @return boolean value or defaultValue
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return Primitives.parseBoolean(parameterWrapper.getFirst(source, key), defaultValue);
     }
 
     /**
@@ -414,6 +510,45 @@ final public class HttpParameters implements Parcel {
         return parameterWrapper.getList(source, key, Long.class);
     }
 
+    /**
+     * Gets list of ints from params without boxing. Values that are not
+     * ints are skipped
+     *
+     * @param key value identifier
+     * @return IntList, empty if the key is missing
+     */
+    public IntList getIntList(String key) {
+        final Deque<String> values = parameterWrapper.getRawValue(source, key);
+        if (values == null)
+            return new IntList(0);
+        final IntList list = new IntList(values.size());
+        for (String value : values) {
+            final long parsed = Primitives.parseIntOrInvalid(value);
+            if (parsed != Primitives.INVALID_INT)
+                list.add((int) parsed);
+        }
+        return list;
+    }
+
+    /**
+     * Gets list of longs from params without boxing. Values that are not
+     * longs are skipped
+     *
+     * @param key value identifier
+     * @return LongList, empty if the key is missing
+     */
+    public LongList getLongList(String key) {
+        final Deque<String> values = parameterWrapper.getRawValue(source, key);
+        if (values == null)
+            return new LongList(0);
+        final LongList list = new LongList(values.size());
+        for (String value : values) {
+            if (Primitives.isLong(value))
+                list.add(Primitives.parseLong(value, 0));
+        }
+        return list;
+    }
+
     /**
      * Gets list of doubles from params
      *
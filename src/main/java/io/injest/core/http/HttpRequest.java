@@ -22,33 +22,42 @@
 
 package io.injest.core.http;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.injest.core.Exceptions;
-import io.injest.core.boot.ConfigKeys;
-import io.injest.core.boot.StaticConfig;
 import io.injest.core.structs.Bundle;
-import io.injest.core.util.JsonMappers;
+import io.injest.core.util.JsonCodecs;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.Cookie;
+import io.undertow.server.handlers.form.FormData;
 import io.undertow.util.HeaderMap;
-import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
-import io.undertow.util.PathTemplateMatch;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.InetAddress;
-import java.net.UnknownHostException;
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -57,17 +66,25 @@ import java.util.stream.Stream;
  */
 final public class HttpRequest implements HttpExchangeFacet {
 
+    private static final byte[] EMPTY_BODY = new byte[0];
+
     private final HttpExchange exchange;
     private final HeaderMap headers;
     private final RequestMethod requestMethod;
     private final String requestUri;
     private final BodyParser bodyParser;
-    private final HashSet<String> requiredParams;
+    private Set<String> requiredParams;
+    private boolean requiredParamsCopied = false;
     private final HashSet<String> missingParams = new HashSet<>();
-    private final HashMap<ParameterSource, HttpParameters> params = new HashMap<>();
+    private List<ParameterError> parameterErrors = Collections.emptyList();
+    private Object boundParams;
 
+    private EnumMap<ParameterSource, HttpParameters> params;
+    private ParameterWrapper parameterWrapper;
     private InetAddress remoteAddress;
-    private String body = "";
+    private byte[] bodyBytes;
+    private boolean bodyRead = false;
+    private String body;
     private String requestError;
     private boolean canIntercept = true;
     private boolean isValid = true;
@@ -80,7 +97,6 @@ final public class HttpRequest implements HttpExchangeFacet {
      */
     HttpRequest(HttpExchange exchange) {
         HttpServerExchange nativeExchange = exchange.getNativeExchange();
-        StaticConfig config = StaticConfig.getInstance();
 
         this.exchange = exchange;
         this.headers = nativeExchange.getRequestHeaders();
@@ -88,62 +104,56 @@ final public class HttpRequest implements HttpExchangeFacet {
         this.requestUri = nativeExchange.getRequestURI();
         this.bodyParser = new BodyParser(nativeExchange);
 
-        if (config.has(ConfigKeys.Net.FORWARDED_IP_HEADER)) {
-            try {
-                String forwardedIpHeader = config.getString(ConfigKeys.Net.FORWARDED_IP_HEADER).orElse("x-forwarded-for");
-                this.remoteAddress = InetAddress.getByName(getHeader(forwardedIpHeader));
-            } catch (UnknownHostException e) {
-                this.remoteAddress = nativeExchange.getSourceAddress().getAddress();
-            }
-        } else {
-            this.remoteAddress = nativeExchange.getSourceAddress().getAddress();
-        }
+        this.requiredParams = exchange.getCurrentHandler().getDescriptor().getRequiredParameters();
+    }
 
-        TreeMap<String, Deque<String>> pathParams = new TreeMap<>();
-        PathTemplateMatch pathTemplateMatch = nativeExchange.getAttachment(PathTemplateMatch.ATTACHMENT_KEY);
+    /**
+     * Build the parameter wrapper the first time any parameter source
+     * is read. Form bodies are only parsed at this point
+     *
+     * @return parameter wrapper for this request
+     */
+    private ParameterWrapper getParameterWrapper() {
+        if (parameterWrapper != null)
+            return parameterWrapper;
 
-        // PathTemplateMatch will only match on a valid route. Check for nullity
-        if (pathTemplateMatch != null) {
-            for (String key : pathTemplateMatch.getParameters().keySet()) {
-                Deque<String> values = new ArrayDeque<>(1);
-                values.add(pathTemplateMatch.getParameters().get(key));
-                pathParams.put(key, values);
-            }
-        }
+        final HttpServerExchange nativeExchange = exchange.getNativeExchange();
 
-        // Are we dealing with a body?
-        final ParameterWrapper parameterWrapper;
-        if (headerExists(Headers.CONTENT_LENGTH)) {
-
-            // Get content-type
-            String contentType = getHeader(Headers.CONTENT_TYPE.toString());
-
-            // If content-type is JSON, create params without body, and set raw body string,
-            // otherwise, use the body parser to parse the body as form-data
-            if (ContentType.JSON.equals(contentType)) {
-                this.body = bodyParser.parseRaw();
-                parameterWrapper = new ParameterWrapper(
-                        pathParams,
-                        nativeExchange.getQueryParameters());
-            } else {
-                parameterWrapper = new ParameterWrapper(
-                        pathParams,
-                        nativeExchange.getQueryParameters(),
-                        bodyParser.parseFormData());
-            }
+        // RouteMatch will only be attached on a valid route. Check for nullity
+        final RouteMatch routeMatch = nativeExchange.getAttachment(RouteMatch.ATTACHMENT_KEY);
+        final Map<String, Deque<String>> pathParams = routeMatch == null
+                ? Collections.emptyMap()
+                : routeMatch.asDequeMap();
+
+        // JSON bodies are read raw, anything else is parsed as form-data
+        if (BodyParser.isBodyPresent(nativeExchange) && !BodyParser.isJson(nativeExchange)) {
+            parameterWrapper = new ParameterWrapper(
+                    pathParams,
+                    nativeExchange.getQueryParameters(),
+                    bodyParser.parseFormData());
         } else {
             parameterWrapper = new ParameterWrapper(
                     pathParams,
                     nativeExchange.getQueryParameters());
         }
+        return parameterWrapper;
+    }
 
-        this.params.put(ParameterSource.ANY, new HttpParameters(parameterWrapper, ParameterSource.ANY));
-        this.params.put(ParameterSource.PATH, new HttpParameters(parameterWrapper, ParameterSource.PATH));
-        this.params.put(ParameterSource.QUERY, new HttpParameters(parameterWrapper, ParameterSource.QUERY));
-        this.params.put(ParameterSource.BODY, new HttpParameters(parameterWrapper, ParameterSource.BODY));
-
-        RequiredParameters requiredParameters = getHandler().getAttachment(RequiredParameters.ATTACHMENT_KEY);
-        this.requiredParams = requiredParameters != null ? requiredParameters.getValues() : new HashSet<>();
+    /**
+     * Gets the parameter view of a source, creating it on first use
+     *
+     * @param source parameter source
+     * @return HttpParameters
+     */
+    private HttpParameters getParameters(ParameterSource source) {
+        if (params == null)
+            params = new EnumMap<>(ParameterSource.class);
+        HttpParameters parameters = params.get(source);
+        if (parameters == null) {
+            parameters = new HttpParameters(getParameterWrapper(), source);
+            params.put(source, parameters);
+        }
+        return parameters;
     }
 
     /**
@@ -171,6 +181,8 @@ final public class HttpRequest implements HttpExchangeFacet {
      * @return remote IP information
      */
     public InetAddress getRemoteAddress() {
+        if (this.remoteAddress == null)
+            this.remoteAddress = ForwardedAddress.resolve(exchange.getNativeExchange());
         return this.remoteAddress;
     }
 
@@ -260,7 +272,7 @@ final public class HttpRequest implements HttpExchangeFacet {
      * @return HttpParameters bundle
      */
     public HttpParameters params() {
-        return params.get(ParameterSource.ANY);
+        return getParameters(ParameterSource.ANY);
     }
 
     /**
@@ -269,7 +281,7 @@ final public class HttpRequest implements HttpExchangeFacet {
      * @return HttpParameters
      */
     public HttpParameters query() {
-        return params.get(ParameterSource.QUERY);
+        return getParameters(ParameterSource.QUERY);
     }
 
     /**
@@ -278,7 +290,7 @@ final public class HttpRequest implements HttpExchangeFacet {
      * @return HttpParameters
      */
     public HttpParameters body() {
-        return params.get(ParameterSource.BODY);
+        return getParameters(ParameterSource.BODY);
     }
 
     /**
@@ -287,20 +299,79 @@ final public class HttpRequest implements HttpExchangeFacet {
      * @return HttpParameters
      */
     public HttpParameters path() {
-        return params.get(ParameterSource.PATH);
+        return getParameters(ParameterSource.PATH);
+    }
+
+    /**
+     * Gets the parts of a form body, fields and files alike, in the order
+     * of their names. File parts are parsed with bounded memory, those
+     * above the configured threshold are read from temp files
+     *
+     * @return parts, empty if the body is not a form
+     */
+    public Iterable<FormPart> parts() {
+        final HttpServerExchange nativeExchange = exchange.getNativeExchange();
+        if (!BodyParser.isBodyPresent(nativeExchange) || BodyParser.isJson(nativeExchange))
+            return Collections.emptyList();
+        final FormData formData = bodyParser.getFormData();
+        if (formData == null)
+            return Collections.emptyList();
+        return () -> new Iterator<FormPart>() {
+            private final Iterator<String> names = formData.iterator();
+            private String name;
+            private Iterator<FormData.FormValue> values = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!values.hasNext() && names.hasNext()) {
+                    name = names.next();
+                    values = formData.get(name).iterator();
+                }
+                return values.hasNext();
+            }
+
+            @Override
+            public FormPart next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return new FormPart(name, values.next());
+            }
+        };
+    }
+
+    /**
+     * Gets the raw body of the request as bytes, exactly as received.
+     * Will be empty if the request did not supply a JSON body
+     *
+     * @return Raw body bytes
+     */
+    public Optional<byte[]> rawBytes() {
+        if (!bodyRead) {
+            final HttpServerExchange nativeExchange = exchange.getNativeExchange();
+            this.bodyBytes = BodyParser.isBodyPresent(nativeExchange) && BodyParser.isJson(nativeExchange)
+                    ? bodyParser.parseBytes()
+                    : EMPTY_BODY;
+            this.bodyRead = true;
+        }
+        return Optional.ofNullable(this.bodyBytes);
     }
 
     /**
      * Gets the raw body of the request. Returns an Optional of type string
      * and will not be present if the request did not supply a content-length
-     * header
+     * header. The string is decoded with the request body charset on first
+     * call, JSON accessors parse the bytes without it
      *
      * @return Raw body as String
      */
     public Optional<String> raw() {
-        if (this.body == null)
-            this.body = this.bodyParser.parseRaw();
-        return Optional.ofNullable(this.body);
+        if (body == null) {
+            final Optional<byte[]> bytes = rawBytes();
+            if (!bytes.isPresent())
+                return Optional.empty();
+            this.body = new String(bytes.get(), BodyParser.getCharset());
+        }
+        return Optional.of(this.body);
     }
 
     /**
@@ -311,7 +382,7 @@ final public class HttpRequest implements HttpExchangeFacet {
      * @return Object with JSON data or <code>null</code> if serialization failed
      */
     public <T> Optional<T> json(Class<T> jsonType) {
-        return json(jsonType, JsonMappers.serializationDefault());
+        return read(JsonCodecs.readerFor(jsonType));
     }
 
     /**
@@ -323,14 +394,7 @@ final public class HttpRequest implements HttpExchangeFacet {
      * @return Object with JSON data or <code>null</code> if serialization failed
      */
     public <T> Optional<T> json(Class<T> jsonType, ObjectMapper mapper) {
-        Optional<String> body = this.raw();
-        if (!body.isPresent())
-            return Optional.empty();
-        try {
-            return Optional.ofNullable(mapper.readValue(body.get(), jsonType));
-        } catch (IOException e) {
-            return Optional.empty();
-        }
+        return read(mapper.readerFor(jsonType));
     }
 
     /**
@@ -341,7 +405,7 @@ final public class HttpRequest implements HttpExchangeFacet {
      * @return List containing objects of type T
      */
     public <T> Optional<List<T>> jsonList(Class<T> elementType) {
-        return jsonList(elementType, JsonMappers.serializationDefault());
+        return read(JsonCodecs.listReaderFor(elementType));
     }
 
     /**
@@ -353,12 +417,111 @@ final public class HttpRequest implements HttpExchangeFacet {
      * @return List containing objects of type T
      */
     public <T> Optional<List<T>> jsonList(Class<T> elementType, ObjectMapper mapper) {
-        Optional<String> body = this.raw();
-        if (!body.isPresent())
+        return read(mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, elementType)));
+    }
+
+    /**
+     * Gets a JSON array body as a lazy stream of objects. Elements are
+     * read from the request one at a time as the stream is consumed, so
+     * only the current element is held in memory. Handlers annotated with
+     * StreamingBody read straight from the connection, others read the
+     * body that was buffered before the handler ran. A malformed element
+     * fails the stream with an unchecked exception. The stream should be
+     * closed if it is not consumed in full
+     *
+     * @param elementType target element type
+     * @param <T>         target type
+     * @return stream of elements, empty if there is no JSON body
+     * @throws IOException thrown if the body could not be opened
+     */
+    public <T> Stream<T> jsonStream(Class<T> elementType) throws IOException {
+        final MappingIterator<T> iterator = openJsonIterator(elementType);
+        if (iterator == null)
+            return Stream.empty();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Reads a JSON array body one element at a time, passing each to the
+     * consumer as soon as it has been parsed
+     *
+     * @param elementType target element type
+     * @param consumer    element consumer
+     * @param <T>         target type
+     * @return number of elements consumed
+     * @throws IOException thrown if the body could not be read or an
+     *                     element could not be deserialized
+     */
+    public <T> long forEachJson(Class<T> elementType, Consumer<? super T> consumer) throws IOException {
+        long count = 0;
+        try (MappingIterator<T> iterator = openJsonIterator(elementType)) {
+            if (iterator == null)
+                return 0;
+            while (iterator.hasNextValue()) {
+                consumer.accept(iterator.nextValue());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Open an iterator over the elements of the JSON body. The body can
+     * be read only once, so raw accessors will be empty afterwards unless
+     * they were read first
+     *
+     * @param elementType target element type
+     * @param <T>         target type
+     * @return iterator, or null if there is no JSON body
+     * @throws IOException thrown if the body could not be opened
+     */
+    private <T> MappingIterator<T> openJsonIterator(Class<T> elementType) throws IOException {
+        final ObjectReader reader = JsonCodecs.readerFor(elementType);
+        final HttpServerExchange nativeExchange = exchange.getNativeExchange();
+
+        // a body that was already received in full is read from memory
+        if (bodyRead || nativeExchange.getAttachment(BodyParser.RAW_BODY) != null) {
+            final byte[] bytes = rawBytes().orElse(EMPTY_BODY);
+            if (bytes.length == 0)
+                return null;
+            return BodyParser.isJsonDetectable()
+                    ? reader.readValues(bytes)
+                    : reader.readValues(new InputStreamReader(new ByteArrayInputStream(bytes), BodyParser.getCharset()));
+        }
+
+        this.bodyRead = true;
+        if (!BodyParser.isBodyPresent(nativeExchange) || !BodyParser.isJson(nativeExchange))
+            return null;
+        final InputStream input = bodyParser.openStream();
+        return BodyParser.isJsonDetectable()
+                ? reader.readValues(input)
+                : reader.readValues(new InputStreamReader(input, BodyParser.getCharset()));
+    }
+
+    /**
+     * Deserialize the JSON body straight from its bytes. Bodies in a
+     * charset Jackson cannot detect are decoded through a reader instead
+     *
+     * @param reader reader bound to the target type
+     * @param <T>    target type
+     * @return deserialized body, or empty if there is none or it is invalid
+     */
+    private <T> Optional<T> read(ObjectReader reader) {
+        Optional<byte[]> bytes = this.rawBytes();
+        if (!bytes.isPresent())
             return Optional.empty();
         try {
-            List<T> result = mapper.readValue(body.get(), mapper.getTypeFactory().constructCollectionType(List.class, elementType));
-            return Optional.ofNullable(result);
+            if (BodyParser.isJsonDetectable())
+                return Optional.ofNullable(reader.readValue(bytes.get()));
+            return Optional.ofNullable(reader.readValue(
+                    new InputStreamReader(new ByteArrayInputStream(bytes.get()), BodyParser.getCharset())));
         } catch (IOException e) {
             return Optional.empty();
         }
@@ -373,6 +536,11 @@ final public class HttpRequest implements HttpExchangeFacet {
         if (parametersInspected) {
             throw Exceptions.parametersInspectedAlready();
         }
+        // the handler's required set is shared by all requests, so copy before adding
+        if (!requiredParamsCopied) {
+            requiredParams = new HashSet<>(requiredParams);
+            requiredParamsCopied = true;
+        }
         requiredParams.addAll(Arrays.asList(args));
     }
 
@@ -394,6 +562,56 @@ final public class HttpRequest implements HttpExchangeFacet {
         return missingParams.size() == 0;
     }
 
+    /**
+     * Bind the parameters of the handler's BindParams class, if it has
+     * one. Called once all required parameters are known to be present
+     *
+     * @return true if there is nothing to bind or binding succeeded
+     */
+    boolean bindParameters() {
+        final ParameterBinder<?> binder = exchange.getCurrentHandler().getDescriptor().getParameterBinder();
+        if (binder == null)
+            return true;
+        final List<ParameterError> errors = new ArrayList<>(0);
+        boundParams = binder.bind(getParameterWrapper().getCollected(), errors);
+        parametersInspected = true;
+        if (errors.isEmpty())
+            return true;
+        parameterErrors = Collections.unmodifiableList(errors);
+        return false;
+    }
+
+    /**
+     * Gets the request parameters bound to an instance of a parameter
+     * class. The instance bound for the handler's BindParams annotation
+     * is returned as is, any other class is bound on this call, and the
+     * request is invalidated if its parameters are missing or malformed
+     *
+     * @param type parameter class with Param annotated fields
+     * @param <T>  parameter type
+     * @return bound instance, or null if binding failed
+     */
+    public <T> T bound(Class<T> type) {
+        if (boundParams != null && boundParams.getClass() == type)
+            return type.cast(boundParams);
+        final List<ParameterError> errors = new ArrayList<>(0);
+        final T params = ParameterBinder.of(type).bind(getParameterWrapper().getCollected(), errors);
+        if (errors.isEmpty())
+            return params;
+        parameterErrors = Collections.unmodifiableList(errors);
+        invalidate(String.format("Invalid parameters in request: %s", errors));
+        return null;
+    }
+
+    /**
+     * Gets the parameters that could not be bound
+     *
+     * @return unmodifiable list of errors, empty if binding succeeded
+     */
+    public List<ParameterError> getParameterErrors() {
+        return parameterErrors;
+    }
+
     /**
      * Get the string set of missing parameter keys
      *
@@ -0,0 +1,393 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.Exceptions;
+import io.injest.core.annotations.directives.Param;
+import io.injest.core.structs.IntList;
+import io.injest.core.structs.LongList;
+import io.injest.core.util.Primitives;
+import io.undertow.util.AttachmentKey;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Populates instances of a parameter class from the request parameters.
+ * The Param fields of the class are resolved once into setter method
+ * handles adapted to each field's exact type, so binding is a single
+ * pass over the collected parameters followed by one typed parse and
+ * setter call per field, without boxing primitives or Optionals
+ *
+ * @param <T> parameter class
+ */
+final public class ParameterBinder<T> {
+
+    @SuppressWarnings("rawtypes")
+    public static final AttachmentKey<ParameterBinder> ATTACHMENT_KEY = AttachmentKey.create(ParameterBinder.class);
+
+    private static final ConcurrentHashMap<Class<?>, ParameterBinder<?>> BINDERS = new ConcurrentHashMap<>();
+
+    private enum Kind {
+        STRING, INT, LONG, DOUBLE, FLOAT, BOOLEAN,
+        BOXED_INT, BOXED_LONG, BOXED_DOUBLE, BOXED_FLOAT, BOXED_BOOLEAN,
+        ENUM, STRING_LIST, INT_LIST, LONG_LIST;
+
+        boolean isList() {
+            return this == STRING_LIST || this == INT_LIST || this == LONG_LIST;
+        }
+    }
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final FieldBinding[] fields;
+    private final String[] keys;
+    private final int[] hashes;
+
+    private ParameterBinder(Class<T> type) {
+        this.type = type;
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            final Constructor<T> ctor = type.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(ctor)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw Exceptions.paramsNotInstantiated(type.getName(), e);
+        }
+        final List<FieldBinding> bindings = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Param.class))
+                    bindings.add(new FieldBinding(lookup, field));
+            }
+        }
+        this.fields = bindings.toArray(new FieldBinding[0]);
+        this.keys = new String[fields.length];
+        this.hashes = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            keys[i] = fields[i].key;
+            hashes[i] = fields[i].key.hashCode();
+        }
+    }
+
+    /**
+     * Gets the binder of a parameter class, creating it on first use
+     *
+     * @param type parameter class
+     * @param <T>  parameter type
+     * @return binder
+     * @throws IllegalStateException if the class cannot be instantiated
+     *                               or a Param field has an unsupported type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ParameterBinder<T> of(Class<T> type) {
+        ParameterBinder<?> binder = BINDERS.get(type);
+        if (binder == null)
+            binder = BINDERS.computeIfAbsent(type, ParameterBinder::new);
+        return (ParameterBinder<T>) binder;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Create an instance of the parameter class and populate it from the
+     * collected parameters. Parameters that are missing but required, or
+     * that cannot be parsed to their field's type, are added to errors
+     *
+     * @param collected parameters of all sources
+     * @param errors    receives binding errors
+     * @return populated instance, incomplete if errors were added
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    T bind(CollectedParameters collected, List<ParameterError> errors) {
+        final Object instance;
+        try {
+            instance = (Object) constructor.invokeExact();
+        } catch (Throwable t) {
+            throw Exceptions.paramsNotInstantiated(type.getName(), t);
+        }
+
+        // pick the values of each field in one pass over the parameters
+        final Deque<String>[] found = new Deque[fields.length];
+        final int size = collected.size();
+        for (int i = 0; i < size; i++) {
+            final int hash = collected.hashAt(i);
+            for (int f = 0; f < fields.length; f++) {
+                if (hashes[f] != hash || !keys[f].equals(collected.keyAt(i)))
+                    continue;
+                final FieldBinding field = fields[f];
+                final ParameterSource source = collected.sourceAt(i);
+                if (source == ParameterSource.INJECTED) {
+                    // injected values come last and override every other source
+                    found[f] = collected.valuesAt(i);
+                } else if (field.source == ParameterSource.ANY) {
+                    // sources are in order, so the first one wins unless values are collected
+                    if (found[f] == null) {
+                        found[f] = collected.valuesAt(i);
+                    } else if (field.kind.isList()) {
+                        final Deque<String> merged = new ArrayDeque<>(found[f]);
+                        merged.addAll(collected.valuesAt(i));
+                        found[f] = merged;
+                    }
+                } else if (source == field.source) {
+                    found[f] = collected.valuesAt(i);
+                }
+            }
+        }
+
+        for (int f = 0; f < fields.length; f++) {
+            final FieldBinding field = fields[f];
+            final Deque<String> values = found[f];
+            if (values == null || values.isEmpty()) {
+                if (field.required)
+                    errors.add(ParameterError.missing(field.key, field.typeName));
+                continue;
+            }
+            try {
+                field.set(instance, values, errors);
+            } catch (Throwable t) {
+                throw Exceptions.invalidParamField(type.getName(), field.name, t.toString());
+            }
+        }
+        return (T) instance;
+    }
+
+    private static final class FieldBinding {
+
+        private final String name;
+        private final String key;
+        private final ParameterSource source;
+        private final boolean required;
+        private final Kind kind;
+        private final String typeName;
+        private final MethodHandle setter;
+        private final Map<String, Object> enumConstants;
+
+        FieldBinding(MethodHandles.Lookup lookup, Field field) {
+            final Param param = field.getAnnotation(Param.class);
+            final String className = field.getDeclaringClass().getName();
+            this.name = field.getName();
+            this.key = param.value().isEmpty() ? field.getName() : param.value();
+            this.source = param.source();
+            this.required = param.required();
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers()))
+                throw Exceptions.invalidParamField(className, name, "fields must be neither static nor final");
+            this.kind = findKind(field);
+            if (kind == null)
+                throw Exceptions.invalidParamField(className, name, "unsupported type " + field.getGenericType().getTypeName());
+            this.typeName = kind == Kind.ENUM ? field.getType().getSimpleName() : describe(kind);
+            this.enumConstants = kind == Kind.ENUM ? enumConstants(field.getType()) : null;
+            try {
+                field.setAccessible(true);
+                final Class<?> parameterType = field.getType().isPrimitive() ? field.getType() : Object.class;
+                this.setter = lookup.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, parameterType));
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw Exceptions.invalidParamField(className, name, e.toString());
+            }
+        }
+
+        private static Kind findKind(Field field) {
+            final Class<?> type = field.getType();
+            if (type == String.class)
+                return Kind.STRING;
+            if (type == int.class)
+                return Kind.INT;
+            if (type == long.class)
+                return Kind.LONG;
+            if (type == double.class)
+                return Kind.DOUBLE;
+            if (type == float.class)
+                return Kind.FLOAT;
+            if (type == boolean.class)
+                return Kind.BOOLEAN;
+            if (type == Integer.class)
+                return Kind.BOXED_INT;
+            if (type == Long.class)
+                return Kind.BOXED_LONG;
+            if (type == Double.class)
+                return Kind.BOXED_DOUBLE;
+            if (type == Float.class)
+                return Kind.BOXED_FLOAT;
+            if (type == Boolean.class)
+                return Kind.BOXED_BOOLEAN;
+            if (type.isEnum())
+                return Kind.ENUM;
+            if (type == IntList.class)
+                return Kind.INT_LIST;
+            if (type == LongList.class)
+                return Kind.LONG_LIST;
+            if (type == List.class && field.getGenericType() instanceof ParameterizedType
+                    && ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0] == String.class)
+                return Kind.STRING_LIST;
+            return null;
+        }
+
+        private static String describe(Kind kind) {
+            switch (kind) {
+                case INT:
+                case BOXED_INT:
+                case INT_LIST:
+                    return "int";
+                case LONG:
+                case BOXED_LONG:
+                case LONG_LIST:
+                    return "long";
+                case DOUBLE:
+                case BOXED_DOUBLE:
+                    return "double";
+                case FLOAT:
+                case BOXED_FLOAT:
+                    return "float";
+                case BOOLEAN:
+                case BOXED_BOOLEAN:
+                    return "boolean";
+                default:
+                    return "string";
+            }
+        }
+
+        private static Map<String, Object> enumConstants(Class<?> enumType) {
+            final Map<String, Object> constants = new HashMap<>();
+            for (Object constant : enumType.getEnumConstants())
+                constants.put(((Enum<?>) constant).name(), constant);
+            return constants;
+        }
+
+        /**
+         * Parse the values and set the field, or add an error
+         *
+         * @param instance parameter class instance
+         * @param values   non-empty values of the key
+         * @param errors   receives an error if a value cannot be parsed
+         * @throws Throwable thrown by the setter
+         */
+        void set(Object instance, Deque<String> values, List<ParameterError> errors) throws Throwable {
+            final String value = values.getFirst();
+            switch (kind) {
+                case STRING:
+                    setter.invokeExact(instance, (Object) value);
+                    return;
+                case INT:
+                case BOXED_INT: {
+                    final long parsed = Primitives.parseIntOrInvalid(value);
+                    if (parsed == Primitives.INVALID_INT)
+                        errors.add(ParameterError.invalid(key, typeName, value));
+                    else if (kind == Kind.INT)
+                        setter.invokeExact(instance, (int) parsed);
+                    else
+                        setter.invokeExact(instance, (Object) Integer.valueOf((int) parsed));
+                    return;
+                }
+                case LONG:
+                case BOXED_LONG: {
+                    if (!Primitives.isLong(value))
+                        errors.add(ParameterError.invalid(key, typeName, value));
+                    else if (kind == Kind.LONG)
+                        setter.invokeExact(instance, Primitives.parseLong(value, 0));
+                    else
+                        setter.invokeExact(instance, (Object) Long.valueOf(Primitives.parseLong(value, 0)));
+                    return;
+                }
+                case DOUBLE:
+                case BOXED_DOUBLE:
+                    if (!Primitives.isDouble(value))
+                        errors.add(ParameterError.invalid(key, typeName, value));
+                    else if (kind == Kind.DOUBLE)
+                        setter.invokeExact(instance, Double.parseDouble(value));
+                    else
+                        setter.invokeExact(instance, (Object) Double.valueOf(value));
+                    return;
+                case FLOAT:
+                case BOXED_FLOAT:
+                    if (!Primitives.isDouble(value))
+                        errors.add(ParameterError.invalid(key, typeName, value));
+                    else if (kind == Kind.FLOAT)
+                        setter.invokeExact(instance, Float.parseFloat(value));
+                    else
+                        setter.invokeExact(instance, (Object) Float.valueOf(value));
+                    return;
+                case BOOLEAN:
+                case BOXED_BOOLEAN: {
+                    final boolean isTrue = Primitives.parseBoolean(value, false);
+                    if (!isTrue && Primitives.parseBoolean(value, true))
+                        errors.add(ParameterError.invalid(key, typeName, value));
+                    else if (kind == Kind.BOOLEAN)
+                        setter.invokeExact(instance, isTrue);
+                    else
+                        setter.invokeExact(instance, (Object) Boolean.valueOf(isTrue));
+                    return;
+                }
+                case ENUM: {
+                    final Object constant = enumConstants.get(value);
+                    if (constant == null)
+                        errors.add(ParameterError.invalid(key, typeName, value));
+                    else
+                        setter.invokeExact(instance, constant);
+                    return;
+                }
+                case STRING_LIST:
+                    setter.invokeExact(instance, (Object) new ArrayList<>(values));
+                    return;
+                case INT_LIST: {
+                    final IntList list = new IntList(values.size());
+                    for (String element : values) {
+                        final long parsed = Primitives.parseIntOrInvalid(element);
+                        if (parsed == Primitives.INVALID_INT) {
+                            errors.add(ParameterError.invalid(key, typeName, element));
+                            return;
+                        }
+                        list.add((int) parsed);
+                    }
+                    setter.invokeExact(instance, (Object) list);
+                    return;
+                }
+                case LONG_LIST: {
+                    final LongList list = new LongList(values.size());
+                    for (String element : values) {
+                        if (!Primitives.isLong(element)) {
+                            errors.add(ParameterError.invalid(key, typeName, element));
+                            return;
+                        }
+                        list.add(Primitives.parseLong(element, 0));
+                    }
+                    setter.invokeExact(instance, (Object) list);
+                }
+            }
+        }
+    }
+}
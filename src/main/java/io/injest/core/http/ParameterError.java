@@ -0,0 +1,86 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+/**
+ * A request parameter that could not be bound to its field
+ */
+final public class ParameterError {
+
+    public enum Kind {
+        MISSING, INVALID
+    }
+
+    private final String key;
+    private final Kind kind;
+    private final String expectedType;
+    private final String value;
+
+    private ParameterError(String key, Kind kind, String expectedType, String value) {
+        this.key = key;
+        this.kind = kind;
+        this.expectedType = expectedType;
+        this.value = value;
+    }
+
+    static ParameterError missing(String key, String expectedType) {
+        return new ParameterError(key, Kind.MISSING, expectedType, null);
+    }
+
+    static ParameterError invalid(String key, String expectedType, String value) {
+        return new ParameterError(key, Kind.INVALID, expectedType, value);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the type the value should have been parsed to
+     *
+     * @return simple type name, e.g. int or an enum name
+     */
+    public String getExpectedType() {
+        return expectedType;
+    }
+
+    /**
+     * Gets the value that failed to parse
+     *
+     * @return raw value, or null if the parameter was missing
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        if (kind == Kind.MISSING)
+            return String.format("%s is missing", key);
+        return String.format("%s: expected %s but was '%s'", key, expectedType, value);
+    }
+}
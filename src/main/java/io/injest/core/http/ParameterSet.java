@@ -22,87 +22,124 @@
 
 package io.injest.core.http;
 
-import io.injest.core.structs.BinaryTuple;
+import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * Parameters of a single source, normalized into flat arrays of keys,
+ * key hashes and values. Keys are few per request, so a scan over the
+ * hashes beats building and probing a map
+ */
 class ParameterSet {
 
-    private final Map<String, Deque<String>> params;
-    private final Set<String> keySet;
     private final ParameterSource source;
+    private final String[] keys;
+    private final int[] hashes;
+    private final Deque<String>[] values;
+    private final int size;
+    private Map<String, Deque<String>> dequeMap;
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
     ParameterSet(Map<String, Deque<String>> params, ParameterSource source) {
-        this.params = normalizeParameters(params);
-        this.keySet = this.params.keySet();
         this.source = source;
+        final int capacity = params.size();
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.values = new Deque[capacity];
+        int count = 0;
+        for (Map.Entry<String, Deque<String>> entry : params.entrySet()) {
+            // path parameter names come from route templates and never need normalizing
+            count = source == ParameterSource.PATH
+                    ? append(count, entry.getKey(), entry.getValue())
+                    : normalizeEntry(count, entry.getKey(), entry.getValue());
+        }
+        this.size = count;
+    }
+
+    /**
+     * Normalize a key in a single pass from its end. Keys of the form
+     * <code>name[]</code> lose their brackets, keys of the form
+     * <code>name[key]</code> are stored under <code>name</code> with the
+     * inner key and the first value as values, so that they can be read
+     * back as a map. Anything else is stored as is
+     *
+     * @param count number of entries stored so far
+     * @param key   native key
+     * @param value native value deque
+     * @return number of entries stored
+     */
+    private int normalizeEntry(int count, String key, Deque<String> value) {
+        final int last = key.length() - 1;
+        if (last > 0 && key.charAt(last) == ']') {
+            int open = last - 1;
+            while (open >= 0 && key.charAt(open) != '[')
+                open--;
+            if (open == last - 1)
+                return append(count, key.substring(0, open), value);
+            if (open >= 0) {
+                final Deque<String> inner = new ArrayDeque<>(2);
+                inner.add(key.substring(open + 1, last));
+                inner.add(value.getFirst());
+                return append(count, key.substring(0, open), inner);
+            }
+        }
+        return append(count, key, value);
     }
 
     /**
-     * Normalizes key values by removing tailing [] and adding appropriate
-     * values into the String Deque
+     * Store an entry, merging its values into those of an existing entry
+     * with the same normalized key
      *
-     * @param params parameter map
-     * @return normalized HashMap
+     * @param count number of entries stored so far
+     * @param key   normalized key
+     * @param value values
+     * @return number of entries stored
      */
-    private Map<String, Deque<String>> normalizeParameters(Map<String, Deque<String>> params) {
-        Map<String, Deque<String>> normalizedKeyMap = new HashMap<>();
-        for (String key : params.keySet()) {
-            BinaryTuple<String, Deque<String>> tuple = normalizeEntry(key, params.get(key));
-            if (normalizedKeyMap.containsKey(tuple.getLeft())) {
-                Deque<String> existingValues = normalizedKeyMap.get(tuple.getLeft());
-                existingValues.addAll(tuple.getRight());
-                normalizedKeyMap.put(tuple.getLeft(), existingValues);
-            } else {
-                normalizedKeyMap.put(tuple.getLeft(), tuple.getRight());
+    private int append(int count, String key, Deque<String> value) {
+        final int hash = key.hashCode();
+        for (int i = 0; i < count; i++) {
+            if (hashes[i] == hash && keys[i].equals(key)) {
+                // copy rather than grow a deque owned by the exchange
+                final Deque<String> merged = new ArrayDeque<>(values[i]);
+                merged.addAll(value);
+                values[i] = merged;
+                return count;
             }
         }
-        return normalizedKeyMap;
+        keys[count] = key;
+        hashes[count] = hash;
+        values[count] = value;
+        return count + 1;
     }
 
     ParameterSource getSource() {
         return source;
     }
 
-    Set<String> keySet() {
-        return keySet;
+    int size() {
+        return size;
     }
 
-    Deque<String> getValues(String key) {
-        return params.get(key);
+    String keyAt(int index) {
+        return keys[index];
     }
 
-    Map<String, Deque<String>> toDequeMap() {
-        return params;
+    int hashAt(int index) {
+        return hashes[index];
     }
 
-    private static final String ARRAY_KEYED = "^(.*)\\[(.*?)\\]$";
+    Deque<String> valuesAt(int index) {
+        return values[index];
+    }
 
-    /**
-     * Normalize each map entry
-     *
-     * @param key   native key
-     * @param value native value deque
-     * @return BinaryTuple of normalized key and derived value
-     */
-    private BinaryTuple<String, Deque<String>> normalizeEntry(String key, Deque<String> value) {
-        if (key.endsWith("[]")) {
-            return new BinaryTuple<>(key.replace("[]", ""), value);
-        } else if (key.matches(ARRAY_KEYED)) {
-            Pattern pattern = Pattern.compile(ARRAY_KEYED);
-            Matcher matcher = pattern.matcher(key);
-            if (matcher.find() && matcher.groupCount() == 2) {
-                Deque<String> inner = new LinkedList<>();
-                inner.add(matcher.group(2));
-                inner.add(value.getFirst());
-                return new BinaryTuple<>(matcher.group(1), inner);
-            }
+    Map<String, Deque<String>> toDequeMap() {
+        if (dequeMap == null) {
+            dequeMap = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++)
+                dequeMap.put(keys[i], values[i]);
         }
-        return new BinaryTuple<>(key, value);
+        return dequeMap;
     }
 }
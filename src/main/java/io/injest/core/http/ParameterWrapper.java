@@ -75,6 +75,19 @@ public class ParameterWrapper {
         return collected.getCollectedValues(key, source);
     }
 
+    /**
+     * Obtain the first raw value of a key, for primitive accessors to
+     * parse without going through a typed Optional
+     *
+     * @param source parameter source
+     * @param key    key
+     * @return first value, or null if there is none
+     */
+    String getFirst(ParameterSource source, String key) {
+        final Deque<String> values = collected.getCollectedValues(key, source);
+        return values == null || values.isEmpty() ? null : values.getFirst();
+    }
+
     /**
      * Obtain typed, nullable value
      *
@@ -112,10 +125,10 @@ public class ParameterWrapper {
      * @return Optional of type T
      */
     <T> Optional<T> get(ParameterSource source, String key, Class<T> clazz) {
-        if (!collected.containsKey(key, source))
+        final Deque<String> values = collected.getCollectedValues(key, source);
+        if (values == null || values.isEmpty())
             return Optional.empty();
-        String rawValue = collected.getCollectedValues(key, source).getFirst();
-        T typedValue = castPrimitive(rawValue, clazz);
+        T typedValue = castPrimitive(values.getFirst(), clazz);
         return Optional.ofNullable(typedValue);
     }
 
@@ -127,10 +140,10 @@ public class ParameterWrapper {
      * @return Optional String
      */
     Optional<String> get(ParameterSource source, String key) {
-        if (!collected.containsKey(key, source))
+        final Deque<String> values = collected.getCollectedValues(key, source);
+        if (values == null || values.isEmpty())
             return Optional.empty();
-        String value = collected.getCollectedValues(key, source).getFirst();
-        return Optional.ofNullable(value);
+        return Optional.ofNullable(values.getFirst());
     }
 
     /**
@@ -157,11 +170,12 @@ public class ParameterWrapper {
      * @return value list of type T
      */
     <T> List<T> getList(ParameterSource source, String key, Class<T> clazz, boolean keepNulls) {
-        if (!collected.containsKey(key, source))
+        final Deque<String> values = collected.getCollectedValues(key, source);
+        if (values == null)
             return Collections.emptyList();
 
         LinkedList<T> typedValues = new LinkedList<>();
-        for (String value : collected.getCollectedValues(key, source)) {
+        for (String value : values) {
             T typedValue = castPrimitive(value, clazz);
             if (typedValue != null || keepNulls) {
                 typedValues.add(typedValue);
@@ -179,9 +193,10 @@ public class ParameterWrapper {
      */
     ParameterMap getMap(ParameterSource source, String key) {
         ParameterMap map = new ParameterMap();
-        if (!collected.containsKey(key, source))
+        final Deque<String> values = collected.getCollectedValues(key, source);
+        if (values == null)
             return map;
-        Iterator<String> iterator = collected.getCollectedValues(key, source).iterator();
+        Iterator<String> iterator = values.iterator();
         while (iterator.hasNext()) {
             String k = iterator.next();
             if (iterator.hasNext())
@@ -208,6 +223,16 @@ public class ParameterWrapper {
         return collected.getCollectedValues();
     }
 
+    /**
+     * Gets the parameters of all sources, for binders to read in a
+     * single pass
+     *
+     * @return collected parameters
+     */
+    CollectedParameters getCollected() {
+        return collected;
+    }
+
     /**
      * Injects pseudo-parameters into the request for chaining handlers
      *
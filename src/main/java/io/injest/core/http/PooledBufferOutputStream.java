@@ -0,0 +1,119 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.connector.ByteBufferPool;
+import io.undertow.connector.PooledByteBuffer;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * OutputStream that writes into buffers allocated from the connection's
+ * buffer pool, so a response can be encoded and sent without first being
+ * materialized as a String or byte array. The buffers must be released
+ * once the response has been written
+ */
+final class PooledBufferOutputStream extends OutputStream {
+
+    private final ByteBufferPool pool;
+    private PooledByteBuffer[] pooled = new PooledByteBuffer[4];
+    private ByteBuffer current;
+    private int count = 0;
+    private long size = 0L;
+
+    PooledBufferOutputStream(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity();
+        current.put((byte) b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            ensureCapacity();
+            final int chunk = Math.min(len, current.remaining());
+            current.put(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+            size += chunk;
+        }
+    }
+
+    /**
+     * Allocate the next pooled buffer when the current one is full
+     */
+    private void ensureCapacity() {
+        if (current != null && current.hasRemaining())
+            return;
+        if (count == pooled.length)
+            pooled = Arrays.copyOf(pooled, count * 2);
+        final PooledByteBuffer next = pool.allocate();
+        pooled[count++] = next;
+        current = next.getBuffer();
+        current.clear();
+    }
+
+    /**
+     * Gets the total number of bytes written
+     *
+     * @return byte count
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Flip the written buffers for reading. Call once, after all
+     * content has been written
+     *
+     * @return buffers ready to be sent
+     */
+    ByteBuffer[] getBuffers() {
+        final ByteBuffer[] buffers = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            final ByteBuffer buffer = pooled[i].getBuffer();
+            buffer.flip();
+            buffers[i] = buffer;
+        }
+        current = null;
+        return buffers;
+    }
+
+    /**
+     * Return all buffers to the pool
+     */
+    void release() {
+        for (int i = 0; i < count; i++) {
+            pooled[i].close();
+            pooled[i] = null;
+        }
+        count = 0;
+        current = null;
+    }
+}
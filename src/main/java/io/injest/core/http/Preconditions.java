@@ -0,0 +1,105 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.DateUtils;
+import io.undertow.util.ETag;
+import io.undertow.util.ETagUtils;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import java.util.Date;
+
+/**
+ * Evaluation of conditional request headers against the validators of
+ * a response body
+ */
+final class Preconditions {
+
+    private Preconditions() {
+    }
+
+    /**
+     * Evaluate If-Match, If-Unmodified-Since, If-None-Match and
+     * If-Modified-Since in the order given by RFC 7232
+     *
+     * @param exchange     Undertow HttpServerExchange
+     * @param eTag         entity tag of the body, or null if it has none
+     * @param lastModified modification date of the body, or null if unknown
+     * @return 200 to send the body, 304 or 412 otherwise
+     */
+    static int evaluate(HttpServerExchange exchange, ETag eTag, Date lastModified) {
+        final HeaderMap requestHeaders = exchange.getRequestHeaders();
+        final HttpString method = exchange.getRequestMethod();
+        final boolean isRead = Methods.GET.equals(method) || Methods.HEAD.equals(method);
+
+        if (requestHeaders.contains(Headers.IF_MATCH)) {
+            if (!ETagUtils.handleIfMatch(exchange, eTag, false))
+                return 412;
+        } else if (lastModified != null && !DateUtils.handleIfUnmodifiedSince(exchange, lastModified)) {
+            return 412;
+        }
+
+        if (requestHeaders.contains(Headers.IF_NONE_MATCH)) {
+            if (!ETagUtils.handleIfNoneMatch(exchange, eTag, true))
+                return isRead ? 304 : 412;
+        } else if (isRead && lastModified != null && !DateUtils.handleIfModifiedSince(exchange, lastModified)) {
+            return 304;
+        }
+        return 200;
+    }
+
+    /**
+     * Determine if an If-Range validator still matches the body. An entity
+     * tag must match strongly, a date must equal the modification date
+     *
+     * @param ifRange      If-Range header value, or null if absent
+     * @param eTag         entity tag of the body, or null if it has none
+     * @param lastModified modification date of the body, or null if unknown
+     * @return true if ranges may be served
+     */
+    static boolean isIfRangeSatisfied(String ifRange, ETag eTag, Date lastModified) {
+        if (ifRange == null)
+            return true;
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/"))
+            return eTag != null && !eTag.isWeak() && ETagUtils.handleIfMatch(ifRange, eTag, false);
+        final Date date = DateUtils.parseDate(ifRange);
+        return date != null && lastModified != null && date.getTime() / 1000 == lastModified.getTime() / 1000;
+    }
+
+    /**
+     * Put the ETag and Last-Modified headers of a body
+     *
+     * @param responseHeaders response headers
+     * @param eTag            entity tag, or null if the body has none
+     * @param lastModified    modification date, or null if unknown
+     */
+    static void putValidators(HeaderMap responseHeaders, ETag eTag, Date lastModified) {
+        if (eTag != null)
+            responseHeaders.put(Headers.ETAG, eTag.toString());
+        if (lastModified != null)
+            responseHeaders.put(Headers.LAST_MODIFIED, DateUtils.toDateString(lastModified));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.server.HttpServerExchange;
+import org.xnio.ChannelListener;
+import org.xnio.IoUtils;
+import org.xnio.channels.StreamSinkChannel;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes a sequence of segments to the response channel without
+ * blocking. A segment is either a buffer (e.g. a multipart header or a
+ * slice of an in-memory body) or a region of a file, which is handed
+ * to the channel's transferFrom so the connection can use sendfile.
+ * File regions are written from a worker thread, since reading a file
+ * may block
+ */
+final class RangeTransfer implements Runnable, ChannelListener<StreamSinkChannel> {
+
+    private final HttpServerExchange exchange;
+    private final HandlerInstance<?> handlerInstance;
+    private final FileChannel file;
+    private final ByteBuffer[] buffers;
+    private final long[] positions;
+    private final long[] counts;
+    private StreamSinkChannel channel;
+    private int index = 0;
+
+    /**
+     * @param exchange        Undertow HttpServerExchange
+     * @param handlerInstance handler instance notified once the body is sent
+     * @param file            file to read regions from, or null if every segment is a buffer
+     * @param segments        number of segments
+     */
+    RangeTransfer(HttpServerExchange exchange, HandlerInstance<?> handlerInstance, FileChannel file, int segments) {
+        this.exchange = exchange;
+        this.handlerInstance = handlerInstance;
+        this.file = file;
+        this.buffers = new ByteBuffer[segments];
+        this.positions = new long[segments];
+        this.counts = new long[segments];
+    }
+
+    /**
+     * Sets a buffer segment
+     *
+     * @param segment segment index
+     * @param buffer  bytes to write
+     */
+    void setBuffer(int segment, ByteBuffer buffer) {
+        buffers[segment] = buffer;
+        counts[segment] = buffer.remaining();
+    }
+
+    /**
+     * Sets a file region segment
+     *
+     * @param segment  segment index
+     * @param position file offset of the first byte
+     * @param count    number of bytes
+     */
+    void setRegion(int segment, long position, long count) {
+        positions[segment] = position;
+        counts[segment] = count;
+    }
+
+    /**
+     * Gets the total number of bytes in all segments
+     *
+     * @return content length
+     */
+    long getLength() {
+        long length = 0L;
+        for (long count : counts)
+            length += count;
+        return length;
+    }
+
+    /**
+     * Start writing, moving off the IO thread first if a file is read
+     */
+    void start() {
+        if (file != null && exchange.isInIoThread())
+            exchange.dispatch(this);
+        else
+            run();
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (channel == null)
+                channel = exchange.getResponseChannel();
+            for (; index < buffers.length; index++) {
+                final ByteBuffer buffer = buffers[index];
+                if (buffer != null) {
+                    while (buffer.hasRemaining()) {
+                        if (channel.write(buffer) == 0) {
+                            awaitWritable();
+                            return;
+                        }
+                    }
+                } else {
+                    while (counts[index] > 0) {
+                        // conduits that still have to flush the response headers
+                        // read from the channel's own position, so keep it in step
+                        file.position(positions[index]);
+                        final long written = channel.transferFrom(file, positions[index], counts[index]);
+                        if (written == 0) {
+                            awaitWritable();
+                            return;
+                        }
+                        positions[index] += written;
+                        counts[index] -= written;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            closeFile();
+            IoUtils.safeClose(exchange.getConnection());
+            handlerInstance.onException(exchange, exchange.getResponseSender(), e);
+            return;
+        }
+        closeFile();
+        exchange.endExchange();
+        handlerInstance.onComplete(exchange, exchange.getResponseSender());
+    }
+
+    @Override
+    public void handleEvent(StreamSinkChannel channel) {
+        channel.suspendWrites();
+        channel.getWriteSetter().set(null);
+        start();
+    }
+
+    private void awaitWritable() {
+        channel.getWriteSetter().set(this);
+        channel.resumeWrites();
+    }
+
+    private void closeFile() {
+        if (file != null)
+            IoUtils.safeClose(file);
+    }
+}
@@ -22,20 +22,65 @@
 
 package io.injest.core.http;
 
+import java.nio.ByteBuffer;
+
 public class ResponseBody {
 
     private final String responseText;
+    private final PooledBufferOutputStream responseBuffers;
     private boolean isWaiting = true;
 
     ResponseBody(String responseText) {
         this.responseText = responseText;
+        this.responseBuffers = null;
+    }
+
+    ResponseBody(PooledBufferOutputStream responseBuffers) {
+        this.responseText = "";
+        this.responseBuffers = responseBuffers;
     }
 
     ResponseBody(boolean awaiting) {
         this.responseText = "";
+        this.responseBuffers = null;
         this.isWaiting = awaiting;
     }
 
+    /**
+     * Determine if the body was encoded into pooled buffers
+     *
+     * @return true if pooled buffers hold the body
+     */
+    boolean isBuffered() {
+        return responseBuffers != null;
+    }
+
+    /**
+     * Gets the length in bytes of a buffered body
+     *
+     * @return content length
+     */
+    long getContentLength() {
+        return responseBuffers.size();
+    }
+
+    /**
+     * Gets the pooled buffers, flipped and ready to send
+     *
+     * @return buffers holding the body
+     */
+    ByteBuffer[] getBuffers() {
+        return responseBuffers.getBuffers();
+    }
+
+    /**
+     * Return any pooled buffers to the connection's pool
+     */
+    void release() {
+        if (responseBuffers != null)
+            responseBuffers.release();
+    }
+
     boolean isWaiting() {
         return isWaiting;
     }
@@ -22,9 +22,14 @@
 
 package io.injest.core.http;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.injest.core.util.JsonMappers;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.injest.core.util.JsonCodecs;
+import io.undertow.connector.ByteBufferPool;
+import java.io.IOException;
+import java.nio.charset.Charset;
 
 class ResponseWriter {
 
@@ -56,13 +61,50 @@ class ResponseWriter {
      * @return JSON string
      */
     String getResponseJson(Adapter adapter) {
-        final ObjectMapper jsonMapper = JsonMappers.restOperationDefault();
+        final ObjectWriter jsonWriter = JsonCodecs.writerFor(adapter.getClass());
         try {
-            return jsonMapper.writeValueAsString(adapter);
+            return jsonWriter.writeValueAsString(adapter);
         } catch (JsonProcessingException e) {
             return String.format(
                     "{\"error\":\"JSON serialization error [%s]\"}",
                     adapter.getClass().getName());
         }
     }
+
+    /**
+     * Serialize an adapter straight into pooled buffers, skipping the
+     * intermediate String and byte[] copies. The caller owns the returned
+     * buffers and must release them once they have been sent
+     *
+     * @param adapter  adapter
+     * @param pool     buffer pool of the exchange's connection
+     * @param encoding JSON encoding matching the response charset
+     * @return pooled output holding the encoded JSON, or null if serialization failed
+     */
+    PooledBufferOutputStream writeResponseJson(Adapter adapter, ByteBufferPool pool, JsonEncoding encoding) {
+        final ObjectWriter jsonWriter = JsonCodecs.writerFor(adapter.getClass());
+        final PooledBufferOutputStream output = new PooledBufferOutputStream(pool);
+        try (JsonGenerator generator = jsonWriter.createGenerator(output, encoding)) {
+            jsonWriter.writeValue(generator, adapter);
+            return output;
+        } catch (IOException e) {
+            output.release();
+            return null;
+        }
+    }
+
+    /**
+     * Find the JSON encoding Jackson can write natively for a charset
+     *
+     * @param charset response charset
+     * @return matching encoding, or null if Jackson cannot encode to this charset
+     */
+    static JsonEncoding encodingFor(Charset charset) {
+        final String name = charset.name();
+        for (JsonEncoding encoding : JsonEncoding.values()) {
+            if (encoding.getJavaName().equalsIgnoreCase(name))
+                return encoding;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,243 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.util.AttachmentKey;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The route matched by the {@link Router} for a request. Path parameter
+ * values are read by index from the request path on demand, so a match
+ * holds no maps of its own
+ */
+final public class RouteMatch {
+
+    public static final AttachmentKey<RouteMatch> ATTACHMENT_KEY = AttachmentKey.create(RouteMatch.class);
+
+    private final Router.Route route;
+    private final String path;
+    private final int[] bounds;
+    private String[] values;
+    private Map<String, Deque<String>> dequeView;
+    private Map<String, String> stringView;
+
+    RouteMatch(Router.Route route, String path) {
+        this.route = route;
+        this.path = path;
+        this.bounds = route.parameterNames.length == 0 ? null : new int[route.parameterNames.length * 2];
+    }
+
+    /**
+     * Record where the value of a path parameter lies in the path
+     *
+     * @param index parameter index, in template order
+     * @param start start offset, inclusive
+     * @param end   end offset, exclusive
+     */
+    void setBounds(int index, int start, int end) {
+        bounds[index * 2] = start;
+        bounds[index * 2 + 1] = end;
+    }
+
+    Router.Route getRoute() {
+        return route;
+    }
+
+    /**
+     * Gets the template of the matched route
+     *
+     * @return route template
+     */
+    public String getTemplate() {
+        return route.template;
+    }
+
+    /**
+     * Gets the number of path parameters of the matched route
+     *
+     * @return parameter count
+     */
+    public int getParameterCount() {
+        return route.parameterNames.length;
+    }
+
+    /**
+     * Gets the name of a path parameter
+     *
+     * @param index parameter index, in template order
+     * @return parameter name
+     */
+    public String getParameterName(int index) {
+        return route.parameterNames[index];
+    }
+
+    /**
+     * Gets the value of a path parameter
+     *
+     * @param index parameter index, in template order
+     * @return parameter value
+     */
+    public String getParameterValue(int index) {
+        if (values == null)
+            values = new String[route.parameterNames.length];
+        String value = values[index];
+        if (value == null) {
+            value = path.substring(bounds[index * 2], bounds[index * 2 + 1]);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value of a path parameter by name
+     *
+     * @param name parameter name
+     * @return parameter value, or null if the route has no such parameter
+     */
+    public String getParameter(String name) {
+        final int index = route.indexOf(name);
+        return index < 0 ? null : getParameterValue(index);
+    }
+
+    /**
+     * Gets a read-only map view of the path parameters in the shape the
+     * parameter wrappers consume. Deques are only created for the keys
+     * that are actually read
+     *
+     * @return path parameter view
+     */
+    Map<String, Deque<String>> asDequeMap() {
+        if (dequeView == null)
+            dequeView = new DequeView();
+        return dequeView;
+    }
+
+    /**
+     * Gets a read-only map view of the path parameter values, e.g. for
+     * an Undertow PathTemplateMatch. Values are only cut out of the path
+     * when they are read
+     *
+     * @return path parameter view
+     */
+    public Map<String, String> asMap() {
+        if (stringView == null)
+            stringView = new StringView();
+        return stringView;
+    }
+
+    /**
+     * Map view over the parameters of the matched route, keyed by name in
+     * template order
+     *
+     * @param <V> value type
+     */
+    private abstract class ParameterView<V> extends AbstractMap<String, V> {
+
+        abstract V valueAt(int index);
+
+        @Override
+        public V get(Object key) {
+            final int index = key instanceof String ? route.indexOf((String) key) : -1;
+            return index < 0 ? null : valueAt(index);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && route.indexOf((String) key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return route.parameterNames.length;
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return route.parameterNameSet;
+        }
+
+        @Override
+        public Set<Entry<String, V>> entrySet() {
+            return new AbstractSet<Entry<String, V>>() {
+                @Override
+                public Iterator<Entry<String, V>> iterator() {
+                    return new Iterator<Entry<String, V>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < route.parameterNames.length;
+                        }
+
+                        @Override
+                        public Entry<String, V> next() {
+                            if (!hasNext())
+                                throw new NoSuchElementException();
+                            final int i = index++;
+                            return new SimpleImmutableEntry<>(route.parameterNames[i], valueAt(i));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return route.parameterNames.length;
+                }
+            };
+        }
+    }
+
+    private final class DequeView extends ParameterView<Deque<String>> {
+
+        private Deque<String>[] deques;
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Deque<String> valueAt(int index) {
+            if (deques == null)
+                deques = new Deque[route.parameterNames.length];
+            Deque<String> deque = deques[index];
+            if (deque == null) {
+                deque = new ArrayDeque<>(1);
+                deque.add(getParameterValue(index));
+                deques[index] = deque;
+            }
+            return deque;
+        }
+    }
+
+    private final class StringView extends ParameterView<String> {
+
+        @Override
+        String valueAt(int index) {
+            return getParameterValue(index);
+        }
+    }
+}
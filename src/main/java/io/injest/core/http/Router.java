@@ -0,0 +1,375 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.Exceptions;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.PathTemplateMatch;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routes requests to handlers through a segment trie per request method,
+ * built once at scan time. Static segments are matched by exact lookup
+ * before path parameters ({name}) and a trailing wildcard (*), and the
+ * match is attached to the exchange as a {@link RouteMatch}, and as a
+ * PathTemplateMatch for code written against Undertow's routing
+ */
+final public class Router implements HttpHandler {
+
+    private static final int MAX_LINEAR_CHILDREN = 8;
+
+    private HttpString[] methods = new HttpString[0];
+    private Node[] trees = new Node[0];
+    private HttpHandler fallbackHandler = new DefaultHandlers.DefaultFallbackHandler();
+    private HttpHandler invalidMethodHandler;
+    private boolean rewriteQueryParameters;
+
+    /**
+     * Add a route. Templates that are equivalent to an existing template of
+     * the same method, i.e. only differ in parameter names, are rejected
+     *
+     * @param method   request method
+     * @param template route template, e.g. /users/{id}/files/*
+     * @param handler  handler to invoke
+     * @return this router
+     */
+    public Router add(RequestMethod method, String template, HttpHandler handler) {
+        final Node root = findOrCreateTree(method);
+        final List<String> names = new ArrayList<>();
+        final String[] segments = splitTemplate(template);
+
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            final String segment = segments[i];
+            if (segment.equals("*")) {
+                if (i != segments.length - 1)
+                    throw Exceptions.invalidRouteTemplate(template, "a wildcard must be the last segment");
+                names.add("*");
+                if (node.wildcardRoute != null)
+                    throw Exceptions.routeConflict(method.toString(), template, node.wildcardRoute.template);
+                node.wildcardRoute = new Route(template, names, handler);
+                return this;
+            }
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                final String name = segment.substring(1, segment.length() - 1);
+                if (name.isEmpty() || name.indexOf('{') >= 0 || name.indexOf('}') >= 0)
+                    throw Exceptions.invalidRouteTemplate(template, "invalid parameter segment " + segment);
+                if (names.contains(name))
+                    throw Exceptions.invalidRouteTemplate(template, "duplicate parameter " + name);
+                names.add(name);
+                if (node.paramChild == null)
+                    node.paramChild = new Node();
+                node = node.paramChild;
+            } else if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0) {
+                throw Exceptions.invalidRouteTemplate(template, "parameters must span a whole segment");
+            } else {
+                node = node.addStatic(segment);
+            }
+        }
+
+        if (node.route != null)
+            throw Exceptions.routeConflict(method.toString(), template, node.route.template);
+        node.route = new Route(template, names, handler);
+        if (names.isEmpty())
+            root.exactRoutes.put("/" + String.join("/", segments), node.route);
+        return this;
+    }
+
+    /**
+     * Sets the handler for requests that match no route
+     *
+     * @param fallbackHandler fallback handler
+     * @return this router
+     */
+    public Router setFallbackHandler(HttpHandler fallbackHandler) {
+        this.fallbackHandler = fallbackHandler;
+        return this;
+    }
+
+    /**
+     * Sets the handler for requests whose path only matches routes of
+     * other request methods
+     *
+     * @param invalidMethodHandler invalid method handler
+     * @return this router
+     */
+    public Router setInvalidMethodHandler(HttpHandler invalidMethodHandler) {
+        this.invalidMethodHandler = invalidMethodHandler;
+        return this;
+    }
+
+    /**
+     * Sets whether path parameters are also added to the query parameters
+     * of the exchange, as Undertow's RoutingHandler does. Off by default,
+     * path parameters are read through HttpRequest.path or params
+     *
+     * @param rewriteQueryParameters true to add path parameters to the query
+     * @return this router
+     */
+    public Router setRewriteQueryParameters(boolean rewriteQueryParameters) {
+        this.rewriteQueryParameters = rewriteQueryParameters;
+        return this;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        final String path = exchange.getRelativePath();
+        final RouteMatch match = match(exchange.getRequestMethod(), path);
+        if (match != null) {
+            exchange.putAttachment(RouteMatch.ATTACHMENT_KEY, match);
+            // handlers and wrappers written against Undertow's routing read this
+            exchange.putAttachment(PathTemplateMatch.ATTACHMENT_KEY,
+                    new PathTemplateMatch(match.getTemplate(), match.asMap()));
+            if (rewriteQueryParameters) {
+                for (int i = 0; i < match.getParameterCount(); i++)
+                    exchange.addQueryParam(match.getParameterName(i), match.getParameterValue(i));
+            }
+            match.getRoute().handler.handleRequest(exchange);
+        } else if (invalidMethodHandler != null && matchesOtherMethod(exchange.getRequestMethod(), path)) {
+            invalidMethodHandler.handleRequest(exchange);
+        } else {
+            fallbackHandler.handleRequest(exchange);
+        }
+    }
+
+    /**
+     * Match a path against the routes of a request method
+     *
+     * @param method request method
+     * @param path   decoded request path
+     * @return match, or null if no route matches
+     */
+    RouteMatch match(HttpString method, String path) {
+        final Node root = findTree(method);
+        if (root == null)
+            return null;
+        final Route exact = root.exactRoutes.get(path);
+        if (exact != null)
+            return new RouteMatch(exact, path);
+        return find(root, path, skipSlashes(path, 0), 0);
+    }
+
+    private boolean matchesOtherMethod(HttpString method, String path) {
+        for (int i = 0; i < methods.length; i++) {
+            if (!methods[i].equals(method) && find(trees[i], path, skipSlashes(path, 0), 0) != null)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Find the trie of a request method. Undertow hands out its shared
+     * method constants, so an identity check usually settles it
+     */
+    private Node findTree(HttpString method) {
+        for (int i = 0; i < methods.length; i++) {
+            if (methods[i] == method)
+                return trees[i];
+        }
+        for (int i = 0; i < methods.length; i++) {
+            if (methods[i].equals(method))
+                return trees[i];
+        }
+        return null;
+    }
+
+    private Node findOrCreateTree(RequestMethod method) {
+        final HttpString methodName = Methods.fromString(method.toString());
+        final Node existing = findTree(methodName);
+        if (existing != null)
+            return existing;
+        methods = Arrays.copyOf(methods, methods.length + 1);
+        trees = Arrays.copyOf(trees, trees.length + 1);
+        methods[methods.length - 1] = methodName;
+        trees[trees.length - 1] = new Node();
+        return trees[trees.length - 1];
+    }
+
+    /**
+     * Depth-first search that prefers static segments over parameters and
+     * parameters over wildcards, backtracking when a branch dead-ends. The
+     * match is only created once a route is found, and parameter values
+     * are recorded as offsets into the path while the search unwinds
+     */
+    private static RouteMatch find(Node node, String path, int start, int depth) {
+        final int length = path.length();
+        if (start >= length) {
+            if (node.route != null)
+                return new RouteMatch(node.route, path);
+            if (node.wildcardRoute == null)
+                return null;
+            final RouteMatch match = new RouteMatch(node.wildcardRoute, path);
+            match.setBounds(depth, length, length);
+            return match;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0)
+            end = length;
+        final int next = skipSlashes(path, end);
+
+        final Node child = node.findStatic(path, start, end);
+        if (child != null) {
+            final RouteMatch match = find(child, path, next, depth);
+            if (match != null)
+                return match;
+        }
+        if (node.paramChild != null) {
+            final RouteMatch match = find(node.paramChild, path, next, depth + 1);
+            if (match != null) {
+                match.setBounds(depth, start, end);
+                return match;
+            }
+        }
+        if (node.wildcardRoute != null) {
+            final RouteMatch match = new RouteMatch(node.wildcardRoute, path);
+            match.setBounds(depth, start, length);
+            return match;
+        }
+        return null;
+    }
+
+    private static int skipSlashes(String path, int index) {
+        while (index < path.length() && path.charAt(index) == '/')
+            index++;
+        return index;
+    }
+
+    private static String[] splitTemplate(String template) {
+        final List<String> segments = new ArrayList<>();
+        for (String segment : template.split("/")) {
+            if (!segment.isEmpty())
+                segments.add(segment);
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * A route as registered at scan time
+     */
+    static final class Route {
+
+        final String template;
+        final String[] parameterNames;
+        final Set<String> parameterNameSet;
+        final HttpHandler handler;
+
+        Route(String template, List<String> parameterNames, HttpHandler handler) {
+            this.template = template;
+            this.parameterNames = parameterNames.toArray(new String[0]);
+            this.parameterNameSet = Collections.unmodifiableSet(new LinkedHashSet<>(parameterNames));
+            this.handler = handler;
+        }
+
+        int indexOf(String name) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (parameterNames[i].equals(name))
+                    return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Trie node for a single path segment. Small sets of static children
+     * are scanned in place. Larger ones go into an open-addressing table
+     * keyed by the String hash of the segment, which is computed straight
+     * from the request path so that no substrings are created
+     */
+    private static final class Node {
+
+        private String[] staticKeys = new String[0];
+        private Node[] staticNodes = new Node[0];
+        private String[] tableKeys;
+        private Node[] tableNodes;
+        private Node paramChild;
+        private Route route;
+        private Route wildcardRoute;
+
+        /**
+         * Routes without parameters by normalized path, only used on the
+         * root node so that static routes are found with a single lookup
+         */
+        private final Map<String, Route> exactRoutes = new HashMap<>();
+
+        Node addStatic(String segment) {
+            for (int i = 0; i < staticKeys.length; i++) {
+                if (staticKeys[i].equals(segment))
+                    return staticNodes[i];
+            }
+            final Node node = new Node();
+            staticKeys = Arrays.copyOf(staticKeys, staticKeys.length + 1);
+            staticNodes = Arrays.copyOf(staticNodes, staticNodes.length + 1);
+            staticKeys[staticKeys.length - 1] = segment;
+            staticNodes[staticNodes.length - 1] = node;
+            if (staticKeys.length > MAX_LINEAR_CHILDREN)
+                buildTable();
+            return node;
+        }
+
+        private void buildTable() {
+            int capacity = Integer.highestOneBit(staticKeys.length * 4 - 1) << 1;
+            tableKeys = new String[capacity];
+            tableNodes = new Node[capacity];
+            for (int i = 0; i < staticKeys.length; i++) {
+                int slot = staticKeys[i].hashCode() & (capacity - 1);
+                while (tableKeys[slot] != null)
+                    slot = (slot + 1) & (capacity - 1);
+                tableKeys[slot] = staticKeys[i];
+                tableNodes[slot] = staticNodes[i];
+            }
+        }
+
+        Node findStatic(String path, int start, int end) {
+            final int length = end - start;
+            if (tableKeys == null) {
+                for (int i = 0; i < staticKeys.length; i++) {
+                    final String key = staticKeys[i];
+                    if (key.length() == length && path.regionMatches(start, key, 0, length))
+                        return staticNodes[i];
+                }
+                return null;
+            }
+            int hash = 0;
+            for (int i = start; i < end; i++)
+                hash = 31 * hash + path.charAt(i);
+            final int mask = tableKeys.length - 1;
+            for (int slot = hash & mask; tableKeys[slot] != null; slot = (slot + 1) & mask) {
+                final String key = tableKeys[slot];
+                if (key.length() == length && path.regionMatches(start, key, 0, length))
+                    return tableNodes[slot];
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,601 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.Exceptions;
+import io.injest.core.InjestMessages;
+import io.injest.core.boot.ConfigKeys;
+import io.injest.core.boot.StaticConfig;
+import io.injest.core.util.Log;
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.ResponseCodeHandler;
+import io.undertow.util.ETag;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.MimeMappings;
+import org.xnio.IoUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the files below a root directory. The tree is scanned once up
+ * front, so requests for anything else are handed to the next handler
+ * without touching the disk. Files up to the mapped size limit are
+ * memory-mapped on first use and sent straight from the mapping, larger
+ * files are transferred from their FileChannel. Compressible files are
+ * gzipped once and kept in a size-bounded LRU cache. Every file is sent
+ * with an ETag and Last-Modified date computed when it was scanned, and
+ * conditional requests are answered with 304.
+ * <p>
+ * Unless watching is disabled, a WatchService rescans files as they
+ * change. Replace files by renaming a new copy over the old one, since
+ * truncating a file that is currently mapped faults any reader. Files and
+ * directories whose name starts with a dot, such as .git or .env, are not
+ * served unless hidden files are enabled.
+ * <p>
+ * Register a subclass with a no-argument constructor using
+ * {@link io.injest.core.annotations.directives.WrappedHandler}, or set the
+ * {@link ConfigKeys.Static#ROOT} config value. Wrapped subclasses are
+ * chained at their declared priority like any other wrapped handler. The
+ * config-driven handler is chained at {@link ConfigKeys.Static#PRIORITY},
+ * and innermost if that is not set, so wrapped handlers such as auth see
+ * static requests too. The GZIP handler passes precompressed responses
+ * through, as they already carry a Content-Encoding
+ */
+public class StaticResourceHandler implements HttpHandler, HandlerWrappable {
+
+    private static final Log LOG = Log.with(StaticResourceHandler.class);
+    private static final String INDEX_FILE = "index.html";
+    private static final int MIN_COMPRESSIBLE_SIZE = 256;
+    private static final byte[] NOT_COMPRESSIBLE = new byte[0];
+    private static final long DEFAULT_MAX_MAPPED_SIZE = 4L * 1024 * 1024;
+    private static final long DEFAULT_GZIP_CACHE_SIZE = 32L * 1024 * 1024;
+
+    private final Path root;
+    private final String prefix;
+    private final long maxMappedSize;
+    private final boolean serveHidden;
+    private final VariantCache gzipCache;
+    private final ConcurrentHashMap<String, Resource> resources = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private HttpHandler next = ResponseCodeHandler.HANDLE_404;
+
+    /**
+     * Serve a directory with the mapping, cache, watch and hidden file
+     * settings of the static config
+     *
+     * @param root   directory to serve
+     * @param prefix path prefix the directory is served at, e.g. "/assets"
+     */
+    public StaticResourceHandler(Path root, String prefix) {
+        this(root, prefix,
+                StaticConfig.getInstance().getLong(ConfigKeys.Static.MAX_MAPPED_SIZE).orElse(DEFAULT_MAX_MAPPED_SIZE),
+                StaticConfig.getInstance().getLong(ConfigKeys.Static.GZIP_CACHE_SIZE).orElse(DEFAULT_GZIP_CACHE_SIZE),
+                StaticConfig.getInstance().getBoolean(ConfigKeys.Static.WATCH_CHANGES).orElse(true),
+                StaticConfig.getInstance().getBoolean(ConfigKeys.Static.SERVE_HIDDEN).orElse(false));
+    }
+
+    /**
+     * Serve a directory, leaving out hidden files
+     *
+     * @param root          directory to serve
+     * @param prefix        path prefix the directory is served at, e.g. "/assets"
+     * @param maxMappedSize largest file size in bytes that is memory-mapped and gzipped
+     * @param gzipCacheSize total size in bytes of gzipped files to keep, 0 disables gzip
+     * @param watchChanges  true to pick up changes to the directory while running
+     */
+    public StaticResourceHandler(Path root, String prefix, long maxMappedSize, long gzipCacheSize, boolean watchChanges) {
+        this(root, prefix, maxMappedSize, gzipCacheSize, watchChanges, false);
+    }
+
+    /**
+     * Serve a directory
+     *
+     * @param root          directory to serve
+     * @param prefix        path prefix the directory is served at, e.g. "/assets"
+     * @param maxMappedSize largest file size in bytes that is memory-mapped and gzipped
+     * @param gzipCacheSize total size in bytes of gzipped files to keep, 0 disables gzip
+     * @param watchChanges  true to pick up changes to the directory while running
+     * @param serveHidden   true to also serve files and directories whose name starts with a dot
+     */
+    public StaticResourceHandler(Path root, String prefix, long maxMappedSize, long gzipCacheSize,
+                                 boolean watchChanges, boolean serveHidden) {
+        this.root = root.toAbsolutePath().normalize();
+        this.prefix = normalizePrefix(prefix);
+        this.maxMappedSize = Math.min(maxMappedSize, Integer.MAX_VALUE);
+        this.serveHidden = serveHidden;
+        this.gzipCache = gzipCacheSize > 0 ? new VariantCache(gzipCacheSize) : null;
+        if (!Files.isDirectory(this.root))
+            throw Exceptions.staticRootInvalid(this.root.toString(), null);
+        try {
+            if (watchChanges)
+                watchService = this.root.getFileSystem().newWatchService();
+        } catch (IOException e) {
+            InjestMessages.staticWatchFailed(this.root.toString(), e.getMessage()).toWarningLog(LOG);
+        }
+        try {
+            scan(this.root);
+        } catch (IOException e) {
+            throw Exceptions.staticRootInvalid(this.root.toString(), e);
+        }
+        if (watchService != null) {
+            final Thread thread = new Thread(this::watch, "injest-static-watch");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        LOG.i(String.format("Serving %d static resources from [%s] at [%s/]", resources.size(), this.root, this.prefix));
+    }
+
+    @Override
+    public HttpHandler wrap(HttpHandler previous) {
+        this.next = previous;
+        return this;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        final HttpString method = exchange.getRequestMethod();
+        final String key = Methods.GET.equals(method) || Methods.HEAD.equals(method)
+                ? resolveKey(exchange.getRelativePath())
+                : null;
+        final Resource resource = key == null ? null : resources.get(key);
+        if (resource == null) {
+            next.handleRequest(exchange);
+            return;
+        }
+
+        final boolean acceptsGzip = resource.compressible && gzipCache != null && acceptsGzip(exchange);
+        byte[] gzipped = acceptsGzip ? gzipCache.get(resource) : null;
+
+        // mapping a file for the first time and compressing it both touch
+        // the disk, so they happen on a worker thread
+        if (!resource.isPrepared() || (acceptsGzip && gzipped == null)) {
+            if (exchange.isInIoThread()) {
+                exchange.dispatch(this);
+                return;
+            }
+            try {
+                resource.prepare();
+                if (acceptsGzip && gzipped == null)
+                    gzipped = gzipCache.compress(resource);
+            } catch (IOException e) {
+                InjestMessages.staticResourceNotLoaded(resource.path.toString(), e.getMessage()).toWarningLog(LOG);
+                resources.remove(key, resource);
+                next.handleRequest(exchange);
+                return;
+            }
+        }
+        send(exchange, resource, gzipped == NOT_COMPRESSIBLE ? null : gzipped);
+    }
+
+    /**
+     * Send a resource, or a 304/412 response if the request's
+     * preconditions say so
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @param resource resource to send
+     * @param gzipped  gzipped content, or null to send the file as is
+     */
+    private void send(HttpServerExchange exchange, Resource resource, byte[] gzipped) {
+        final HeaderMap responseHeaders = exchange.getResponseHeaders();
+        final ETag eTag = gzipped != null ? resource.gzipETag : resource.eTag;
+        if (resource.compressible && gzipCache != null)
+            responseHeaders.put(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+        Preconditions.putValidators(responseHeaders, eTag, resource.lastModified);
+
+        final int status = Preconditions.evaluate(exchange, eTag, resource.lastModified);
+        if (status != 200) {
+            exchange.setStatusCode(status);
+            if (status != 304)
+                exchange.setResponseContentLength(0L);
+            exchange.endExchange();
+            return;
+        }
+
+        final Sender sender = exchange.getResponseSender();
+        responseHeaders.put(Headers.CONTENT_TYPE, resource.contentType);
+        if (gzipped != null) {
+            responseHeaders.put(Headers.CONTENT_ENCODING, "gzip");
+            exchange.setResponseContentLength(gzipped.length);
+            sender.send(ByteBuffer.wrap(gzipped), IoCallback.END_EXCHANGE);
+        } else if (resource.mapped != null) {
+            exchange.setResponseContentLength(resource.length);
+            sender.send(resource.mapped.duplicate(), IoCallback.END_EXCHANGE);
+        } else {
+            final FileChannel channel;
+            try {
+                channel = FileChannel.open(resource.path, StandardOpenOption.READ);
+            } catch (IOException e) {
+                InjestMessages.staticResourceNotLoaded(resource.path.toString(), e.getMessage()).toWarningLog(LOG);
+                exchange.setStatusCode(404);
+                exchange.endExchange();
+                return;
+            }
+            exchange.setResponseContentLength(resource.length);
+            sender.transferFrom(channel, new IoCallback() {
+                @Override
+                public void onComplete(HttpServerExchange exchange, Sender sender) {
+                    IoUtils.safeClose(channel);
+                    IoCallback.END_EXCHANGE.onComplete(exchange, sender);
+                }
+
+                @Override
+                public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+                    IoUtils.safeClose(channel);
+                    IoCallback.END_EXCHANGE.onException(exchange, sender, exception);
+                }
+            });
+        }
+    }
+
+    /**
+     * Map a request path to the key of a resource, appending the index
+     * file to directory paths
+     *
+     * @param path relative request path
+     * @return resource key, or null if the path is outside the prefix
+     */
+    private String resolveKey(String path) {
+        if (!path.startsWith(prefix))
+            return null;
+        final String relative = path.substring(prefix.length());
+        if (relative.isEmpty())
+            return "/" + INDEX_FILE;
+        if (relative.charAt(0) != '/')
+            return null;
+        return relative.endsWith("/") ? relative + INDEX_FILE : relative;
+    }
+
+    private String keyOf(Path file) {
+        final StringBuilder key = new StringBuilder();
+        for (Path segment : root.relativize(file))
+            key.append('/').append(segment);
+        return key.toString();
+    }
+
+    /**
+     * Determine if a path below the root is hidden, i.e. any of its
+     * names starts with a dot, unless hidden files are served
+     *
+     * @param file file or directory below the root
+     * @return true if it must not be served
+     */
+    private boolean isHidden(Path file) {
+        if (serveHidden)
+            return false;
+        for (Path segment : root.relativize(file)) {
+            if (segment.toString().startsWith("."))
+                return true;
+        }
+        return false;
+    }
+
+    private static String normalizePrefix(String prefix) {
+        String normalized = prefix == null ? "" : prefix.trim();
+        while (normalized.endsWith("/"))
+            normalized = normalized.substring(0, normalized.length() - 1);
+        if (!normalized.isEmpty() && normalized.charAt(0) != '/')
+            normalized = "/" + normalized;
+        return normalized;
+    }
+
+    /**
+     * Determine if the client accepts gzip, with a non-zero quality
+     *
+     * @param exchange Undertow HttpServerExchange
+     * @return true if a gzipped response may be sent
+     */
+    private static boolean acceptsGzip(HttpServerExchange exchange) {
+        final HeaderValues values = exchange.getRequestHeaders().get(Headers.ACCEPT_ENCODING);
+        if (values == null)
+            return false;
+        for (String header : values) {
+            for (String coding : header.split(",")) {
+                final int separator = coding.indexOf(';');
+                final String name = (separator < 0 ? coding : coding.substring(0, separator)).trim();
+                if (!name.equalsIgnoreCase("gzip") && !name.equals("*"))
+                    continue;
+                final int quality = separator < 0 ? -1 : coding.indexOf("q=", separator);
+                if (quality < 0)
+                    return true;
+                try {
+                    return Double.parseDouble(coding.substring(quality + 2).trim()) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add every file below a directory, and watch its directories
+     *
+     * @param directory directory to scan
+     * @throws IOException thrown if the directory cannot be walked
+     */
+    private void scan(Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                if (isHidden(dir))
+                    return FileVisitResult.SKIP_SUBTREE;
+                if (watchService != null)
+                    dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile())
+                    put(file, attributes);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                InjestMessages.staticResourceNotLoaded(file.toString(), e.getMessage()).toWarningLog(LOG);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void put(Path file, BasicFileAttributes attributes) {
+        if (isHidden(file))
+            return;
+        final Resource previous = resources.put(keyOf(file), new Resource(file, attributes, maxMappedSize));
+        if (previous != null && gzipCache != null)
+            gzipCache.remove(previous);
+    }
+
+    /**
+     * Drop a resource, or every resource below it if it was a directory
+     *
+     * @param file deleted or replaced path
+     */
+    private void remove(Path file) {
+        final String key = keyOf(file);
+        final String children = key + "/";
+        resources.entrySet().removeIf(entry -> {
+            if (!entry.getKey().equals(key) && !entry.getKey().startsWith(children))
+                return false;
+            if (gzipCache != null)
+                gzipCache.remove(entry.getValue());
+            return true;
+        });
+    }
+
+    /**
+     * Apply file system events to the resource table until the watch
+     * service is closed
+     */
+    private void watch() {
+        while (true) {
+            final WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            final Path directory = (Path) watchKey.watchable();
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                try {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        resources.clear();
+                        if (gzipCache != null)
+                            gzipCache.clear();
+                        scan(root);
+                        continue;
+                    }
+                    final Path file = directory.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        remove(file);
+                        continue;
+                    }
+                    final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isDirectory())
+                        scan(file);
+                    else if (attributes.isRegularFile())
+                        put(file, attributes);
+                } catch (IOException e) {
+                    // the file vanished again before it could be read
+                    remove(directory.resolve((Path) event.context()));
+                }
+            }
+            watchKey.reset();
+        }
+    }
+
+    /**
+     * Stop watching the directory for changes
+     */
+    public void close() {
+        if (watchService != null)
+            IoUtils.safeClose(watchService);
+    }
+
+    /**
+     * A file below the root, with everything needed to answer a request
+     * computed once
+     */
+    private static final class Resource {
+
+        final Path path;
+        final long length;
+        final Date lastModified;
+        final ETag eTag;
+        final ETag gzipETag;
+        final String contentType;
+        final boolean mappable;
+        final boolean compressible;
+        volatile ByteBuffer mapped;
+
+        Resource(Path path, BasicFileAttributes attributes, long maxMappedSize) {
+            final long modified = attributes.lastModifiedTime().toMillis();
+            final String tag = Long.toHexString(modified) + "-" + Long.toHexString(attributes.size());
+            this.path = path;
+            this.length = attributes.size();
+            this.lastModified = new Date(modified);
+            this.eTag = new ETag(false, tag);
+            this.gzipETag = new ETag(false, tag + "-gz");
+            this.contentType = findContentType(path);
+            this.mappable = length <= maxMappedSize;
+            this.compressible = mappable && length >= MIN_COMPRESSIBLE_SIZE && isCompressible(contentType);
+        }
+
+        boolean isPrepared() {
+            return mapped != null || !mappable;
+        }
+
+        /**
+         * Map the file and load it into physical memory, so sending it
+         * never waits for the disk
+         *
+         * @throws IOException thrown if the file cannot be mapped
+         */
+        synchronized void prepare() throws IOException {
+            if (isPrepared())
+                return;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+                buffer.load();
+                mapped = buffer;
+            }
+        }
+
+        private static String findContentType(Path path) {
+            final String name = path.getFileName().toString();
+            final int dot = name.lastIndexOf('.');
+            final String type = dot < 0 ? null : MimeMappings.DEFAULT.getMimeType(name.substring(dot + 1).toLowerCase());
+            if (type == null)
+                return ContentType.OCTET_STREAM;
+            return type.startsWith("text/") ? type + "; charset=UTF-8" : type;
+        }
+
+        private static boolean isCompressible(String contentType) {
+            return contentType.startsWith("text/")
+                    || contentType.startsWith("application/javascript")
+                    || contentType.startsWith("application/json")
+                    || contentType.startsWith("application/xml")
+                    || contentType.startsWith("application/wasm")
+                    || contentType.startsWith("image/svg+xml")
+                    || contentType.contains("+json")
+                    || contentType.contains("+xml");
+        }
+    }
+
+    /**
+     * LRU cache of gzipped files, bounded by their total size. Resources
+     * that do not shrink when compressed are remembered as such
+     */
+    private static final class VariantCache {
+
+        private final long capacity;
+        private final LinkedHashMap<Resource, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long size = 0L;
+
+        VariantCache(long capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized byte[] get(Resource resource) {
+            return entries.get(resource);
+        }
+
+        /**
+         * Gzip a mapped resource at the best compression level and cache
+         * the result if it fits
+         *
+         * @param resource prepared resource
+         * @return gzipped content, or NOT_COMPRESSIBLE
+         * @throws IOException thrown by the compressor
+         */
+        byte[] compress(Resource resource) throws IOException {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream((int) (resource.length / 3) + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(output, 8192) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                Channels.newChannel(gzip).write(resource.mapped.duplicate());
+            }
+            final byte[] compressed = output.size() < resource.length ? output.toByteArray() : NOT_COMPRESSIBLE;
+            synchronized (this) {
+                if (compressed.length <= capacity) {
+                    final byte[] previous = entries.put(resource, compressed);
+                    size += compressed.length - (previous == null ? 0 : previous.length);
+                    evict();
+                }
+            }
+            return compressed;
+        }
+
+        synchronized void remove(Resource resource) {
+            final byte[] previous = entries.remove(resource);
+            if (previous != null)
+                size -= previous.length;
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            size = 0L;
+        }
+
+        private void evict() {
+            final Iterator<Map.Entry<Resource, byte[]>> iterator = entries.entrySet().iterator();
+            while (size > capacity && iterator.hasNext()) {
+                size -= iterator.next().getValue().length;
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.structs;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Growable list of primitive ints, for reading numeric values without
+ * boxing each one
+ */
+public class IntList {
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this.values = EMPTY;
+    }
+
+    public IntList(int capacity) {
+        this.values = capacity == 0 ? EMPTY : new int[capacity];
+    }
+
+    /**
+     * Append a value
+     *
+     * @param value value
+     */
+    public void add(int value) {
+        if (size == values.length)
+            values = Arrays.copyOf(values, Math.max(8, size << 1));
+        values[size++] = value;
+    }
+
+    /**
+     * Gets the value at an index
+     *
+     * @param index index
+     * @return value
+     * @throws IndexOutOfBoundsException if the index is not below size()
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value)
+                return true;
+        }
+        return false;
+    }
+
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++)
+            consumer.accept(values[i]);
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof IntList))
+            return false;
+        final IntList other = (IntList) o;
+        if (size != other.size)
+            return false;
+        for (int i = 0; i < size; i++) {
+            if (values[i] != other.values[i])
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++)
+            hash = 31 * hash + values[i];
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of ObjectWriters and ObjectReaders bound to the default
+ * mappers, one per type. Writers and readers resolve their root
+ * serializer or deserializer when they are created, so repeated use
+ * skips both the lookup and any type construction. Adapter types are
+ * registered when handlers are scanned, request body types on first use
+ */
+public final class JsonCodecs {
+
+    private static final Log LOG = Log.with(JsonCodecs.class);
+    private static final ConcurrentHashMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, ObjectReader> LIST_READERS = new ConcurrentHashMap<>();
+    private static final Set<Class<?>> REGISTERED = ConcurrentHashMap.newKeySet();
+
+    private JsonCodecs() {
+    }
+
+    /**
+     * Register a response type, resolving its writer up front
+     *
+     * @param type type serialized by the REST operation mapper
+     */
+    public static void register(Class<?> type) {
+        if (REGISTERED.add(type))
+            writerFor(type);
+    }
+
+    /**
+     * Gets the writer of the default REST operation mapper for a type
+     *
+     * @param type type to serialize
+     * @return cached writer
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        final ObjectWriter writer = WRITERS.get(type);
+        if (writer != null)
+            return writer;
+        return WRITERS.computeIfAbsent(type, t -> JsonMappers.restOperationDefault().writerFor(t));
+    }
+
+    /**
+     * Gets the reader of the default serialization mapper for a type
+     *
+     * @param type type to deserialize
+     * @return cached reader
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        final ObjectReader reader = READERS.get(type);
+        if (reader != null)
+            return reader;
+        return READERS.computeIfAbsent(type, t -> JsonMappers.serializationDefault().readerFor(t));
+    }
+
+    /**
+     * Gets the reader of the default serialization mapper for a list of
+     * elements of a type
+     *
+     * @param elementType element type
+     * @return cached reader
+     */
+    public static ObjectReader listReaderFor(Class<?> elementType) {
+        final ObjectReader reader = LIST_READERS.get(elementType);
+        if (reader != null)
+            return reader;
+        return LIST_READERS.computeIfAbsent(elementType, t -> {
+            final ObjectMapper mapper = JsonMappers.serializationDefault();
+            return mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, t));
+        });
+    }
+
+    /**
+     * Serialize a fresh instance of every registered type that has a
+     * no-arg constructor, so serializers for nested and dynamic types are
+     * built and the JIT has seen the serialization path before the first
+     * request arrives. Types that fail to construct or serialize are
+     * skipped
+     *
+     * @return number of types serialized
+     */
+    public static int warmUp() {
+        final OutputStream discard = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+        int count = 0;
+        for (Class<?> type : REGISTERED) {
+            try {
+                final Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                writerFor(type).writeValue(discard, constructor.newInstance());
+                count++;
+            } catch (ReflectiveOperationException | IOException | RuntimeException e) {
+                LOG.d(String.format("Skipped JSON warm-up of [%s] - %s", type.getName(), e.getMessage()));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drop every cached writer and reader, after a default mapper was
+     * reconfigured
+     */
+    static void reset() {
+        WRITERS.clear();
+        READERS.clear();
+        LIST_READERS.clear();
+        for (Class<?> type : REGISTERED)
+            writerFor(type);
+    }
+}
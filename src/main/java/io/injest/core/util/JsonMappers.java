@@ -26,6 +26,7 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import io.injest.core.boot.ApplicationState;
@@ -36,6 +37,11 @@ import java.util.function.Consumer;
 
 public final class JsonMappers {
 
+    private static final Log LOG = Log.with(JsonMappers.class);
+    private static final String[] BYTECODE_MODULES = {
+            "com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+            "com.fasterxml.jackson.module.afterburner.AfterburnerModule"
+    };
     private static final JsonMappers INSTANCE = new JsonMappers();
     private final HashMap<Integer, ObjectMapper> defaultMappers = new HashMap<>();
 
@@ -51,12 +57,36 @@ public final class JsonMappers {
         if (ApplicationState.getState() == ApplicationState.State.RUNNING)
             throw new IllegalStateException("Default ObjectMappers must be configured during boot.");
         mapperConsumer.accept(INSTANCE.defaultMappers.get(mapper));
+        JsonCodecs.reset();
     }
 
     public static ObjectMapper restOperationDefault() {
         return INSTANCE.defaultMappers.get(DEFAULT_REST_OPERATION);
     }
 
+    /**
+     * Determine if JSON is indented by default in a deployment mode. Local
+     * and test modes are indented for readability, anything deployed is
+     * compact
+     *
+     * @param mode deployment mode, or null if not set
+     * @return true if output is indented unless configured otherwise
+     */
+    public static boolean isIndentedByDefault(DeploymentMode mode) {
+        if (mode == null)
+            return true;
+        switch (mode) {
+            case QA:
+            case ALPHA:
+            case BETA:
+            case STAGING:
+            case PRODUCTION:
+                return false;
+            default:
+                return true;
+        }
+    }
+
     public static ObjectMapper serializationDefault() {
         return INSTANCE.defaultMappers.get(DEFAULT_SERIALIZATION);
     }
@@ -71,6 +101,29 @@ public final class JsonMappers {
             this.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
             this.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
             this.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+            if (StaticConfig.getInstance().getBoolean(ConfigKeys.Json.JSON_BYTECODE_MODULES).orElse(true))
+                registerBytecodeModule(this);
+        }
+    }
+
+    /**
+     * Register Blackbird, or Afterburner on older Jacksons, if either is on
+     * the class path. Both generate accessors for the properties of
+     * serialized classes in place of reflection
+     *
+     * @param mapper mapper to register the module with
+     */
+    private static void registerBytecodeModule(ObjectMapper mapper) {
+        for (String className : BYTECODE_MODULES) {
+            try {
+                mapper.registerModule((Module) Class.forName(className).getConstructor().newInstance());
+                LOG.d(String.format("Registered Jackson module [%s]", className));
+                return;
+            } catch (ClassNotFoundException | LinkageError e) {
+                // not on the class path, try the next one
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOG.w(String.format("Unable to register Jackson module [%s] - %s", className, e.getMessage()));
+            }
         }
     }
 
@@ -79,7 +132,7 @@ public final class JsonMappers {
             StaticConfig staticConfig = StaticConfig.getInstance();
             if (!staticConfig.getBoolean(ConfigKeys.Json.JSON_INCLUDE_NULL_VALUES).orElse(true))
                 this.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            if (staticConfig.getBoolean(ConfigKeys.Json.JSON_INDENT_OUTPUT).orElse(true))
+            if (staticConfig.getBoolean(ConfigKeys.Json.JSON_INDENT_OUTPUT).orElse(isIndentedByDefault(Env.getDeploymentMode())))
                 this.configure(SerializationFeature.INDENT_OUTPUT, true);
         }
     }
@@ -0,0 +1,232 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.util;
+
+/**
+ * Parsers for primitive values that read straight from a CharSequence
+ * and report malformed input with a fallback value instead of throwing,
+ * so that request parameters can be read without boxing or exceptions
+ */
+public final class Primitives {
+
+    /**
+     * Returned by {@link #parseIntOrInvalid(CharSequence)} for input that
+     * is not an int, outside of the int range so it cannot be confused
+     * with a parsed value
+     */
+    public static final long INVALID_INT = Long.MIN_VALUE;
+
+    private static final long OVERFLOW = -(long) Integer.MIN_VALUE;
+
+    private Primitives() {
+    }
+
+    /**
+     * Parse a decimal int with an optional sign
+     *
+     * @param value    value to parse, may be null
+     * @param fallback returned if the value is not an int
+     * @return parsed value or fallback
+     */
+    public static int parseInt(CharSequence value, int fallback) {
+        final long parsed = parseIntOrInvalid(value);
+        return parsed == INVALID_INT ? fallback : (int) parsed;
+    }
+
+    /**
+     * Parse a decimal int with an optional sign
+     *
+     * @param value value to parse, may be null
+     * @return parsed value, or {@link #INVALID_INT} if the value is not an int
+     */
+    public static long parseIntOrInvalid(CharSequence value) {
+        if (value == null)
+            return INVALID_INT;
+        final int length = value.length();
+        if (length == 0)
+            return INVALID_INT;
+        int i = 0;
+        final boolean negative = value.charAt(0) == '-';
+        if (negative || value.charAt(0) == '+') {
+            if (length == 1)
+                return INVALID_INT;
+            i++;
+        }
+        long result = 0;
+        for (; i < length; i++) {
+            final int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return INVALID_INT;
+            result = result * 10 + digit;
+            if (result > OVERFLOW)
+                return INVALID_INT;
+        }
+        if (negative)
+            result = -result;
+        return result < Integer.MIN_VALUE || result > Integer.MAX_VALUE ? INVALID_INT : result;
+    }
+
+    /**
+     * Parse a decimal long with an optional sign
+     *
+     * @param value    value to parse, may be null
+     * @param fallback returned if the value is not a long
+     * @return parsed value or fallback
+     */
+    public static long parseLong(CharSequence value, long fallback) {
+        if (value == null)
+            return fallback;
+        final int length = value.length();
+        if (length == 0)
+            return fallback;
+        int i = 0;
+        final boolean negative = value.charAt(0) == '-';
+        if (negative || value.charAt(0) == '+') {
+            if (length == 1)
+                return fallback;
+            i++;
+        }
+        // accumulate negatively, the negative range is the larger one
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            final int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit)
+                return fallback;
+            result *= 10;
+            if (result < limit + digit)
+                return fallback;
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Determine if a value can be parsed as a long
+     *
+     * @param value value to check, may be null
+     * @return true if {@link #parseLong(CharSequence, long)} would succeed
+     */
+    public static boolean isLong(CharSequence value) {
+        // only a value of Long.MIN_VALUE needs a second look
+        return parseLong(value, Long.MIN_VALUE) != Long.MIN_VALUE
+                || parseLong(value, 0) == Long.MIN_VALUE;
+    }
+
+    /**
+     * Parse a double in plain decimal or scientific notation, e.g.
+     * <code>-1.5</code> or <code>2e-3</code>. The syntax is checked by
+     * hand, so the JDK parser is only called with valid input
+     *
+     * @param value    value to parse, may be null
+     * @param fallback returned if the value is not a number
+     * @return parsed value or fallback
+     */
+    public static double parseDouble(CharSequence value, double fallback) {
+        return isDouble(value) ? Double.parseDouble(value.toString()) : fallback;
+    }
+
+    /**
+     * Parse a float in plain decimal or scientific notation
+     *
+     * @param value    value to parse, may be null
+     * @param fallback returned if the value is not a number
+     * @return parsed value or fallback
+     */
+    public static float parseFloat(CharSequence value, float fallback) {
+        return isDouble(value) ? Float.parseFloat(value.toString()) : fallback;
+    }
+
+    /**
+     * Determine if a value is a number in plain decimal or scientific
+     * notation
+     *
+     * @param value value to check, may be null
+     * @return true if {@link #parseDouble(CharSequence, double)} would succeed
+     */
+    public static boolean isDouble(CharSequence value) {
+        if (value == null)
+            return false;
+        final int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+'))
+            i++;
+        int digits = 0;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0)
+            return false;
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+'))
+                i++;
+            final int exponentStart = i;
+            while (i < length && isDigit(value.charAt(i)))
+                i++;
+            if (i == exponentStart)
+                return false;
+        }
+        return i == length;
+    }
+
+    /**
+     * Parse <code>true</code> or <code>false</code>, ignoring case
+     *
+     * @param value    value to parse, may be null
+     * @param fallback returned for any other value
+     * @return parsed value or fallback
+     */
+    public static boolean parseBoolean(CharSequence value, boolean fallback) {
+        if (value == null)
+            return fallback;
+        if (matches(value, "true"))
+            return true;
+        if (matches(value, "false"))
+            return false;
+        return fallback;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean matches(CharSequence value, String lowerCase) {
+        if (value.length() != lowerCase.length())
+            return false;
+        for (int i = 0; i < lowerCase.length(); i++) {
+            if (Character.toLowerCase(value.charAt(i)) != lowerCase.charAt(i))
+                return false;
+        }
+        return true;
+    }
+}
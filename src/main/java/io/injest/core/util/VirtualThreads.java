@@ -0,0 +1,128 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.util;
+
+import io.injest.core.InjestMessages;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to JDK 21+ virtual threads from a Java 8 baseline. The JDK API
+ * is looked up reflectively, so on older runtimes virtual threads are
+ * reported as unsupported and callers fall back to platform threads
+ */
+public final class VirtualThreads {
+
+    private static final Log LOG = Log.with(VirtualThreads.class);
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+    private static volatile boolean enabled = false;
+    private static volatile ExecutorService handlerExecutor;
+    private static volatile boolean warned = false;
+
+    /**
+     * Determine if the running JDK provides virtual threads
+     * @return true on JDK 21+
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Sets whether blocking handlers and worker tasks run on virtual
+     * threads by default
+     * @param enable enable virtual threads globally
+     */
+    public static void setEnabled(boolean enable) {
+        if (enable && !isSupported())
+            warnUnsupported();
+        enabled = enable && isSupported();
+    }
+
+    /**
+     * Determine if virtual threads were enabled globally and are supported
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the shared executor that starts one virtual thread per
+     * dispatched handler
+     * @return executor, or null if virtual threads are not supported
+     */
+    public static ExecutorService getHandlerExecutor() {
+        if (!isSupported()) {
+            warnUnsupported();
+            return null;
+        }
+        if (handlerExecutor == null) {
+            synchronized (VirtualThreads.class) {
+                if (handlerExecutor == null)
+                    handlerExecutor = newExecutor("injest-virtual-");
+            }
+        }
+        return handlerExecutor;
+    }
+
+    /**
+     * Create an executor that starts a new, named virtual thread per task
+     * @param prefix thread name prefix, followed by a sequence number
+     * @return executor, or null if virtual threads are not supported
+     */
+    public static ExecutorService newExecutor(String prefix) {
+        if (!isSupported())
+            return null;
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            final ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            warnUnsupported();
+            return null;
+        }
+    }
+
+    private static void warnUnsupported() {
+        if (!warned) {
+            warned = true;
+            InjestMessages.virtualThreadsUnsupported().toWarningLog(LOG);
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private VirtualThreads() {
+    }
+}
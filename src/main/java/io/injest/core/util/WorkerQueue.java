@@ -22,43 +22,274 @@
 
 package io.injest.core.util;
 
-import java.util.concurrent.BlockingQueue;
+import io.injest.core.InjestMessages;
+import io.injest.core.boot.ConfigKeys;
+import io.injest.core.boot.StaticConfig;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Executes background tasks dispatched by handlers on a bounded pool of
+ * named worker threads. Tasks are submitted straight to the executor,
+ * and once both the threads and the queue are saturated, the configured
+ * rejection policy applies. When virtual threads are enabled, every task
+ * gets its own virtual thread instead and is never queued or rejected
+ */
 public class WorkerQueue {
 
+    /**
+     * What happens to a task submitted while the pool and queue are full
+     */
+    public enum RejectionPolicy {
+        /**
+         * Throw a RejectedExecutionException to the caller
+         */
+        ABORT,
+        /**
+         * Run the task on the submitting thread
+         */
+        CALLER_RUNS,
+        /**
+         * Silently drop the task
+         */
+        DISCARD,
+        /**
+         * Drop the oldest queued task and retry
+         */
+        DISCARD_OLDEST
+    }
+
+    private static final Log LOG = Log.with(WorkerQueue.class);
     private static final WorkerQueue INSTANCE = new WorkerQueue();
-    private final BlockingQueue<Runnable> queue = new LinkedBlockingDeque<>();
-    private final ExecutorService executorService = Executors.newCachedThreadPool();
-    private volatile boolean running = true;
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService virtualExecutor;
+    private final RejectionPolicy rejectionPolicy;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicInteger running = new AtomicInteger();
 
     public static WorkerQueue getInstance() {
         return INSTANCE;
     }
 
     private WorkerQueue() {
-        new Thread(this::start, "worker-delegate").start();
+        final StaticConfig config = StaticConfig.getInstance();
+        final int cores = Runtime.getRuntime().availableProcessors();
+        final int coreThreads = Math.max(1, config.getInt(ConfigKeys.Worker.CORE_THREADS).orElse(cores));
+        final int maxThreads = Math.max(coreThreads, config.getInt(ConfigKeys.Worker.MAX_THREADS).orElse(cores * 4));
+        final int queueCapacity = Math.max(1, config.getInt(ConfigKeys.Worker.QUEUE_CAPACITY).orElse(1024));
+        final int keepAlive = Math.max(0, config.getInt(ConfigKeys.Worker.KEEP_ALIVE_SECONDS).orElse(60));
+
+        this.rejectionPolicy = findRejectionPolicy(config);
+        this.executor = new ThreadPoolExecutor(coreThreads, maxThreads, keepAlive, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new WorkerThreadFactory(), createRejectionHandler(rejectionPolicy));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.virtualExecutor = VirtualThreads.isEnabled() ? VirtualThreads.newExecutor("injest-worker-") : null;
+
+        if (virtualExecutor != null)
+            LOG.i("Started worker queue on virtual threads");
+        else
+            LOG.i(String.format("Started worker queue with %d-%d threads, %d queued tasks and %s rejection",
+                    coreThreads, maxThreads, queueCapacity, rejectionPolicy));
     }
 
+    private static RejectionPolicy findRejectionPolicy(StaticConfig config) {
+        final String value = config.getString(ConfigKeys.Worker.REJECTION_POLICY).orElse(null);
+        if (value == null)
+            return RejectionPolicy.ABORT;
+        try {
+            return RejectionPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            InjestMessages.invalidRejectionPolicy(value).toWarningLog(LOG);
+            return RejectionPolicy.ABORT;
+        }
+    }
+
+    private RejectedExecutionHandler createRejectionHandler(RejectionPolicy policy) {
+        final RejectedExecutionHandler delegate;
+        switch (policy) {
+            case CALLER_RUNS:
+                delegate = new ThreadPoolExecutor.CallerRunsPolicy();
+                break;
+            case DISCARD:
+                delegate = new ThreadPoolExecutor.DiscardPolicy();
+                break;
+            case DISCARD_OLDEST:
+                delegate = new ThreadPoolExecutor.DiscardOldestPolicy();
+                break;
+            default:
+                delegate = new ThreadPoolExecutor.AbortPolicy();
+        }
+        return (runnable, executor) -> {
+            rejected.increment();
+            delegate.rejectedExecution(runnable, executor);
+        };
+    }
+
+    /**
+     * Submit a task for execution on a worker thread
+     * @param worker task to run
+     * @throws java.util.concurrent.RejectedExecutionException if the queue is
+     *                                                         full and the policy is ABORT
+     */
     public void add(Runnable worker) {
-        queue.add(worker);
+        if (virtualExecutor == null) {
+            executor.execute(new TimedTask(worker));
+            return;
+        }
+        try {
+            virtualExecutor.execute(new TimedTask(worker));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
     }
 
+    /**
+     * Stops accepting tasks without waiting for queued ones
+     */
     public void kill() {
-        running = false;
+        executor.shutdown();
+        if (virtualExecutor != null)
+            virtualExecutor.shutdown();
+    }
+
+    /**
+     * Stops accepting tasks and waits for queued and running tasks to
+     * complete. Tasks added after this call are rejected
+     * @param timeout maximum time to wait in milliseconds
+     * @return true if every task completed within the timeout
+     */
+    public boolean shutdown(long timeout) {
+        final long deadline = System.currentTimeMillis() + timeout;
+        kill();
+        try {
+            final boolean terminated = executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+            if (virtualExecutor == null)
+                return terminated;
+            return virtualExecutor.awaitTermination(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS)
+                    && terminated;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Gets the configured rejection policy
+     * @return rejection policy
+     */
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /**
+     * Gets the number of tasks waiting for a worker thread
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
     }
 
-    private void start() {
-        Log.with(WorkerQueue.class).i("Started worker queue. Awaiting tasks");
-        while (running) {
+    /**
+     * Gets the number of tasks currently running
+     * @return active task count
+     */
+    public int getActiveCount() {
+        return running.get();
+    }
+
+    /**
+     * Gets the current number of pooled platform worker threads
+     * @return thread count
+     */
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    /**
+     * Gets the number of tasks that ran to completion, successfully or not
+     * @return completed task count
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Gets the number of tasks the rejection policy was applied to
+     * @return rejected task count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets the mean time completed tasks waited in the queue
+     * @return latency in nanoseconds
+     */
+    public long getAverageQueueNanos() {
+        final long count = completed.sum();
+        return count == 0 ? 0L : queueNanos.sum() / count;
+    }
+
+    /**
+     * Gets the mean time completed tasks took to run
+     * @return run time in nanoseconds
+     */
+    public long getAverageRunNanos() {
+        final long count = completed.sum();
+        return count == 0 ? 0L : runNanos.sum() / count;
+    }
+
+    /**
+     * Wraps a task to record how long it queued and ran
+     */
+    private final class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long submitted = System.nanoTime();
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            final long started = System.nanoTime();
+            running.incrementAndGet();
             try {
-                Runnable runnable = queue.take();
-                executorService.execute(runnable);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+                task.run();
+            } finally {
+                running.decrementAndGet();
+                queueNanos.add(started - submitted);
+                runNanos.add(System.nanoTime() - started);
+                completed.increment();
             }
         }
     }
+
+    /**
+     * Creates named daemon worker threads
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "injest-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.RequestTooBigException;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import io.undertow.util.Protocols;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BodyParserTest {
+
+    @Test
+    void rejectsDeclaredLengthOverLimit() {
+        final HttpServerExchange exchange = exchange(new byte[2048], true);
+        assertTrue(BodyParser.rejectOversized(exchange, 1024));
+        assertEquals(413, exchange.getStatusCode());
+        assertFalse(exchange.isPersistent());
+    }
+
+    @Test
+    void limitsBodyWithinLimit() {
+        final HttpServerExchange exchange = exchange(new byte[512], true);
+        assertFalse(BodyParser.rejectOversized(exchange, 1024));
+        assertEquals(200, exchange.getStatusCode());
+        assertEquals(1024, exchange.getMaxEntitySize());
+    }
+
+    @Test
+    void limitsChunkedBody() {
+        final HttpServerExchange exchange = exchange(new byte[2048], false);
+        assertFalse(BodyParser.rejectOversized(exchange, 1024));
+        assertEquals(1024, exchange.getMaxEntitySize());
+    }
+
+    @Test
+    void keepsSmallerServerLimit() {
+        final HttpServerExchange exchange = exchange(new byte[100], true);
+        exchange.setMaxEntitySize(256);
+        assertFalse(BodyParser.rejectOversized(exchange, 1024));
+        assertEquals(256, exchange.getMaxEntitySize());
+    }
+
+    @Test
+    void acceptsAnythingWhenUnlimited() {
+        final HttpServerExchange exchange = exchange(new byte[2048], true);
+        assertFalse(BodyParser.rejectOversized(exchange, 0));
+        assertFalse(BodyParser.rejectOversized(exchange, -1));
+        assertEquals(0, exchange.getMaxEntitySize());
+    }
+
+    @Test
+    void detectsSizeLimitFailures() {
+        assertTrue(BodyParser.isTooLarge(new RequestTooBigException()));
+        assertTrue(BodyParser.isTooLarge(new IOException(new RequestTooBigException())));
+        assertFalse(BodyParser.isTooLarge(new IOException("reset")));
+        assertFalse(BodyParser.isTooLarge(null));
+    }
+
+    private static HttpServerExchange exchange(byte[] body, boolean declareLength) {
+        final HttpServerExchange exchange = new HttpServerExchange(new MockServerConnection(body));
+        exchange.setProtocol(Protocols.HTTP_1_1);
+        exchange.setRequestScheme("http");
+        exchange.setRequestMethod(Methods.POST);
+        exchange.setRequestURI("/upload");
+        exchange.setRequestPath("/upload");
+        exchange.setRelativePath("/upload");
+        exchange.getRequestHeaders().put(Headers.CONTENT_TYPE, "application/octet-stream");
+        if (declareLength)
+            exchange.getRequestHeaders().put(Headers.CONTENT_LENGTH, body.length);
+        else
+            exchange.getRequestHeaders().put(Headers.TRANSFER_ENCODING, "chunked");
+        return exchange;
+    }
+}
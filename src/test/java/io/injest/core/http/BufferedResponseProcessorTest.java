@@ -0,0 +1,92 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BufferedResponseProcessorTest {
+
+    @Test
+    void parsesSingleRange() {
+        assertArrayEquals(new long[]{0, 99}, BufferedResponseProcessor.parseRanges("bytes=0-99", 1000));
+        assertArrayEquals(new long[]{500, 999}, BufferedResponseProcessor.parseRanges("bytes=500-", 1000));
+    }
+
+    @Test
+    void clampsRangesToBody() {
+        assertArrayEquals(new long[]{900, 999}, BufferedResponseProcessor.parseRanges("bytes=900-5000", 1000));
+    }
+
+    @Test
+    void resolvesSuffixRanges() {
+        assertArrayEquals(new long[]{900, 999}, BufferedResponseProcessor.parseRanges("bytes=-100", 1000));
+        assertArrayEquals(new long[]{0, 999}, BufferedResponseProcessor.parseRanges("bytes=-5000", 1000));
+    }
+
+    @Test
+    void keepsDisjointRangesInRequestOrder() {
+        assertArrayEquals(new long[]{500, 599, 0, 99},
+                BufferedResponseProcessor.parseRanges("bytes=500-599,0-99", 1000));
+    }
+
+    @Test
+    void coalescesOverlappingAndAdjacentRanges() {
+        assertArrayEquals(new long[]{0, 199}, BufferedResponseProcessor.parseRanges("bytes=0-99,50-199", 1000));
+        assertArrayEquals(new long[]{0, 199}, BufferedResponseProcessor.parseRanges("bytes=100-199,0-99", 1000));
+        assertArrayEquals(new long[]{0, 199, 900, 999},
+                BufferedResponseProcessor.parseRanges("bytes=-100,150-199,0-160", 1000));
+    }
+
+    @Test
+    void dropsUnsatisfiableRanges() {
+        assertArrayEquals(new long[]{0, 9}, BufferedResponseProcessor.parseRanges("bytes=2000-3000,0-9", 1000));
+        assertEquals(0, BufferedResponseProcessor.parseRanges("bytes=1000-1200", 1000).length);
+        assertEquals(0, BufferedResponseProcessor.parseRanges("bytes=-0", 1000).length);
+        assertEquals(0, BufferedResponseProcessor.parseRanges("bytes=0-0", 0).length);
+    }
+
+    @Test
+    void ignoresInvalidHeaders() {
+        assertNull(BufferedResponseProcessor.parseRanges("items=0-9", 1000));
+        assertNull(BufferedResponseProcessor.parseRanges("bytes=abc", 1000));
+    }
+
+    @Test
+    void ignoresTooManyRanges() {
+        final StringBuilder header = new StringBuilder("bytes=0-0");
+        for (int i = 1; i <= 16; i++)
+            header.append(',').append(i * 10).append('-').append(i * 10);
+        assertNull(BufferedResponseProcessor.parseRanges(header.toString(), 1000));
+    }
+
+    @Test
+    void coalesceSortsOnlyWhenMerging() {
+        final long[] ranges = {300, 399, 0, 99, 0, 0};
+        assertArrayEquals(new long[]{300, 399, 0, 99}, BufferedResponseProcessor.coalesce(ranges, 4));
+        assertArrayEquals(new long[]{0, 399}, BufferedResponseProcessor.coalesce(new long[]{300, 399, 0, 99, 100, 299}, 6));
+    }
+}
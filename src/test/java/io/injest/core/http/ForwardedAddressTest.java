@@ -0,0 +1,121 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HttpString;
+import org.junit.jupiter.api.Test;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ForwardedAddressTest {
+
+    private static final HttpString HEADER = HttpString.tryFromString("X-Forwarded-For");
+    private static final ForwardedAddress.Cidr[] NONE = new ForwardedAddress.Cidr[0];
+    private static final ForwardedAddress.Cidr[] PROXIES = {
+            ForwardedAddress.Cidr.parse("10.0.0.0/8"),
+            ForwardedAddress.Cidr.parse("fd00::/8")
+    };
+
+    @Test
+    void usesPeerWithoutHeader() throws Exception {
+        assertEquals(address("203.0.113.9"), resolve("203.0.113.9", null, NONE));
+        assertEquals(address("203.0.113.9"), ForwardedAddress.resolve(exchange("203.0.113.9", "198.51.100.1"), null, NONE));
+    }
+
+    @Test
+    void takesLeftmostValidEntryWithoutTrustedProxies() throws Exception {
+        assertEquals(address("198.51.100.1"), resolve("10.0.0.1", "198.51.100.1, 10.0.0.2", NONE));
+        assertEquals(address("198.51.100.1"), resolve("10.0.0.1", "unknown, 198.51.100.1:8080", NONE));
+        assertEquals(address("2001:db8::1"), resolve("10.0.0.1", "[2001:db8::1]:443", NONE));
+        assertEquals(address("10.0.0.1"), resolve("10.0.0.1", "unknown, example.com", NONE));
+    }
+
+    @Test
+    void ignoresHeaderFromUntrustedPeer() throws Exception {
+        assertEquals(address("203.0.113.9"), resolve("203.0.113.9", "198.51.100.1", PROXIES));
+    }
+
+    @Test
+    void skipsTrustedHopsFromTheRight() throws Exception {
+        assertEquals(address("198.51.100.1"), resolve("10.0.0.1", "192.0.2.7, 198.51.100.1, 10.1.2.3", PROXIES));
+        assertEquals(address("198.51.100.1"), resolve("fd00::1", "198.51.100.1, fd12::5", PROXIES));
+    }
+
+    @Test
+    void stopsAtLastParsableHop() throws Exception {
+        assertEquals(address("10.1.2.3"), resolve("10.0.0.1", "198.51.100.1, garbage, 10.1.2.3", PROXIES));
+    }
+
+    @Test
+    void keepsLastHopIfAllAreTrusted() throws Exception {
+        assertEquals(address("10.9.9.9"), resolve("10.0.0.1", "10.9.9.9, 10.1.2.3", PROXIES));
+    }
+
+    @Test
+    void matchesMappedAddressesAgainstIpv4Ranges() throws Exception {
+        assertEquals(address("198.51.100.1"), resolve("::ffff:10.0.0.1", "198.51.100.1", PROXIES));
+    }
+
+    @Test
+    void parsesCidrRanges() {
+        final ForwardedAddress.Cidr cidr = ForwardedAddress.Cidr.parse("192.168.1.0/24");
+        assertNotNull(cidr);
+        assertTrue(cidr.contains(new byte[]{(byte) 192, (byte) 168, 1, 77}));
+        assertFalse(cidr.contains(new byte[]{(byte) 192, (byte) 168, 2, 77}));
+        assertNull(ForwardedAddress.Cidr.parse("192.168.1.0/33"));
+        assertNull(ForwardedAddress.Cidr.parse("not-an-address"));
+        assertNull(ForwardedAddress.Cidr.parse("10.0.0.0/x"));
+    }
+
+    @Test
+    void parsesEntries() {
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, ForwardedAddress.parseEntry(" 1.2.3.4:80 ", 0, 11));
+        assertNull(ForwardedAddress.parseEntry("256.1.1.1", 0, 9));
+        assertNull(ForwardedAddress.parseEntry("1.2.3", 0, 5));
+        assertNull(ForwardedAddress.parseEntry("   ", 0, 3));
+    }
+
+    private static InetAddress resolve(String peer, String header, ForwardedAddress.Cidr[] proxies) throws Exception {
+        return ForwardedAddress.resolve(exchange(peer, header), HEADER, proxies);
+    }
+
+    private static HttpServerExchange exchange(String peer, String header) throws Exception {
+        final HttpServerExchange exchange = new HttpServerExchange(null);
+        exchange.setSourceAddress(new InetSocketAddress(address(peer), 45000));
+        if (header != null)
+            exchange.getRequestHeaders().put(HEADER, header);
+        return exchange;
+    }
+
+    private static InetAddress address(String literal) throws Exception {
+        return InetAddress.getByName(literal);
+    }
+}
@@ -0,0 +1,499 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.connector.ByteBufferPool;
+import io.undertow.server.DefaultByteBufferPool;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.HttpUpgradeListener;
+import io.undertow.server.SSLSessionInfo;
+import io.undertow.server.ServerConnection;
+import org.xnio.ChannelListener;
+import org.xnio.Option;
+import org.xnio.OptionMap;
+import org.xnio.Options;
+import org.xnio.Pool;
+import org.xnio.StreamConnection;
+import org.xnio.Xnio;
+import org.xnio.XnioIoThread;
+import org.xnio.XnioWorker;
+import org.xnio.channels.ConnectedChannel;
+import org.xnio.channels.StreamSinkChannel;
+import org.xnio.channels.StreamSourceChannel;
+import org.xnio.conduits.ConduitStreamSinkChannel;
+import org.xnio.conduits.ConduitStreamSourceChannel;
+import org.xnio.conduits.ReadReadyHandler;
+import org.xnio.conduits.StreamSinkConduit;
+import org.xnio.conduits.StreamSourceConduit;
+import org.xnio.conduits.WriteReadyHandler;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory ServerConnection used to drive handlers without a socket.
+ * The request body is served from a byte array and everything written
+ * to the response is counted and discarded
+ */
+final class MockServerConnection extends ServerConnection {
+
+    private static final ByteBufferPool BUFFER_POOL = new DefaultByteBufferPool(false, 8192);
+    private static final InetSocketAddress PEER = new InetSocketAddress("127.0.0.1", 45000);
+    private static final InetSocketAddress LOCAL = new InetSocketAddress("127.0.0.1", 8080);
+    private static final XnioWorker WORKER = createWorker();
+
+    private final ConduitStreamSourceChannel sourceChannel;
+    private final ConduitStreamSinkChannel sinkChannel;
+    private final SinkConduit sink = new SinkConduit();
+    private boolean exchangeComplete = false;
+
+    MockServerConnection(byte[] requestBody) {
+        this.sourceChannel = new ConduitStreamSourceChannel(this, new SourceConduit(requestBody));
+        this.sinkChannel = new ConduitStreamSinkChannel(this, sink);
+    }
+
+    /**
+     * Undertow hands channel listener tasks to the connection's IO thread
+     * (e.g. when a drained request channel is closed), so a small daemon
+     * worker backs every mock connection. Benchmark and test threads are
+     * never the IO thread, so handlers still run inline
+     *
+     * @return shared XNIO worker
+     */
+    private static XnioWorker createWorker() {
+        try {
+            return Xnio.getInstance().createWorker(OptionMap.builder()
+                    .set(Options.WORKER_IO_THREADS, 1)
+                    .set(Options.WORKER_TASK_CORE_THREADS, 1)
+                    .set(Options.WORKER_TASK_MAX_THREADS, 1)
+                    .set(Options.THREAD_DAEMON, true)
+                    .getMap());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the number of response bytes written to this connection
+     *
+     * @return byte count
+     */
+    long getBytesWritten() {
+        return sink.written;
+    }
+
+    /**
+     * Determine if the exchange on this connection has completed
+     *
+     * @return true if complete
+     */
+    boolean isExchangeComplete() {
+        return exchangeComplete;
+    }
+
+    @Override
+    public Pool<ByteBuffer> getBufferPool() {
+        return null;
+    }
+
+    @Override
+    public ByteBufferPool getByteBufferPool() {
+        return BUFFER_POOL;
+    }
+
+    @Override
+    public XnioWorker getWorker() {
+        return WORKER;
+    }
+
+    @Override
+    public XnioIoThread getIoThread() {
+        return WORKER.getIoThread();
+    }
+
+    @Override
+    public HttpServerExchange sendOutOfBandResponse(HttpServerExchange exchange) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isContinueResponseSupported() {
+        return false;
+    }
+
+    @Override
+    public void terminateRequestChannel(HttpServerExchange exchange) {
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsOption(Option<?> option) {
+        return false;
+    }
+
+    @Override
+    public <T> T getOption(Option<T> option) {
+        return null;
+    }
+
+    @Override
+    public <T> T setOption(Option<T> option, T value) {
+        return null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public ChannelListener.Setter<? extends ConnectedChannel> getCloseSetter() {
+        return null;
+    }
+
+    @Override
+    public SocketAddress getPeerAddress() {
+        return PEER;
+    }
+
+    @Override
+    public <A extends SocketAddress> A getPeerAddress(Class<A> type) {
+        return type.isInstance(PEER) ? type.cast(PEER) : null;
+    }
+
+    @Override
+    public SocketAddress getLocalAddress() {
+        return LOCAL;
+    }
+
+    @Override
+    public <A extends SocketAddress> A getLocalAddress(Class<A> type) {
+        return type.isInstance(LOCAL) ? type.cast(LOCAL) : null;
+    }
+
+    @Override
+    public OptionMap getUndertowOptions() {
+        return OptionMap.EMPTY;
+    }
+
+    @Override
+    public int getBufferSize() {
+        return BUFFER_POOL.getBufferSize();
+    }
+
+    @Override
+    public SSLSessionInfo getSslSessionInfo() {
+        return null;
+    }
+
+    @Override
+    public void setSslSessionInfo(SSLSessionInfo sessionInfo) {
+    }
+
+    @Override
+    public void addCloseListener(CloseListener listener) {
+    }
+
+    @Override
+    protected StreamConnection upgradeChannel() {
+        return null;
+    }
+
+    @Override
+    protected ConduitStreamSinkChannel getSinkChannel() {
+        return sinkChannel;
+    }
+
+    @Override
+    protected ConduitStreamSourceChannel getSourceChannel() {
+        return sourceChannel;
+    }
+
+    @Override
+    protected StreamSinkConduit getSinkConduit(HttpServerExchange exchange, StreamSinkConduit conduit) {
+        return conduit;
+    }
+
+    @Override
+    protected boolean isUpgradeSupported() {
+        return false;
+    }
+
+    @Override
+    protected boolean isConnectSupported() {
+        return false;
+    }
+
+    @Override
+    protected void exchangeComplete(HttpServerExchange exchange) {
+        exchangeComplete = true;
+    }
+
+    @Override
+    protected void setUpgradeListener(HttpUpgradeListener listener) {
+    }
+
+    @Override
+    protected void setConnectListener(HttpUpgradeListener listener) {
+    }
+
+    @Override
+    protected void maxEntitySizeUpdated(HttpServerExchange exchange) {
+    }
+
+    @Override
+    public String getTransportProtocol() {
+        return "http/1.1";
+    }
+
+    @Override
+    public boolean isRequestTrailerFieldsSupported() {
+        return false;
+    }
+
+    /**
+     * Request conduit reading from a fixed byte array
+     */
+    private static final class SourceConduit implements StreamSourceConduit {
+
+        private final ByteBuffer body;
+        private boolean shutdown = false;
+
+        SourceConduit(byte[] body) {
+            this.body = ByteBuffer.wrap(body == null ? new byte[0] : body);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!body.hasRemaining())
+                return -1;
+            final int count = Math.min(dst.remaining(), body.remaining());
+            final ByteBuffer slice = body.duplicate();
+            slice.limit(slice.position() + count);
+            dst.put(slice);
+            body.position(body.position() + count);
+            return count;
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) {
+            if (!body.hasRemaining())
+                return -1;
+            long total = 0;
+            for (int i = offset; i < offset + length && body.hasRemaining(); i++)
+                total += read(dsts[i]);
+            return total;
+        }
+
+        @Override
+        public long transferTo(long position, long count, FileChannel target) throws IOException {
+            final ByteBuffer slice = body.duplicate();
+            slice.limit((int) Math.min(slice.limit(), slice.position() + count));
+            final long written = target.write(slice, position);
+            body.position(body.position() + (int) written);
+            return written;
+        }
+
+        @Override
+        public long transferTo(long count, ByteBuffer throughBuffer, StreamSinkChannel target) throws IOException {
+            throughBuffer.clear();
+            throughBuffer.limit((int) Math.min(throughBuffer.capacity(), count));
+            final int read = read(throughBuffer);
+            throughBuffer.flip();
+            if (read <= 0)
+                return read;
+            return target.write(throughBuffer);
+        }
+
+        @Override
+        public void terminateReads() {
+            shutdown = true;
+        }
+
+        @Override
+        public boolean isReadShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public void resumeReads() {
+        }
+
+        @Override
+        public void suspendReads() {
+        }
+
+        @Override
+        public void wakeupReads() {
+        }
+
+        @Override
+        public boolean isReadResumed() {
+            return false;
+        }
+
+        @Override
+        public void awaitReadable() {
+        }
+
+        @Override
+        public void awaitReadable(long time, TimeUnit timeUnit) {
+        }
+
+        @Override
+        public XnioIoThread getReadThread() {
+            return WORKER.getIoThread();
+        }
+
+        @Override
+        public void setReadReadyHandler(ReadReadyHandler handler) {
+        }
+
+        @Override
+        public XnioWorker getWorker() {
+            return WORKER;
+        }
+    }
+
+    /**
+     * Response conduit that accepts and counts every byte
+     */
+    private static final class SinkConduit implements StreamSinkConduit {
+
+        private long written = 0L;
+        private boolean shutdown = false;
+
+        @Override
+        public int write(ByteBuffer src) {
+            final int count = src.remaining();
+            src.position(src.limit());
+            written += count;
+            return count;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long total = 0;
+            for (int i = offset; i < offset + length; i++)
+                total += write(srcs[i]);
+            return total;
+        }
+
+        @Override
+        public int writeFinal(ByteBuffer src) {
+            final int count = write(src);
+            terminateWrites();
+            return count;
+        }
+
+        @Override
+        public long writeFinal(ByteBuffer[] srcs, int offset, int length) {
+            final long count = write(srcs, offset, length);
+            terminateWrites();
+            return count;
+        }
+
+        @Override
+        public long transferFrom(FileChannel src, long position, long count) throws IOException {
+            final long transferred = Math.max(0L, Math.min(count, src.size() - position));
+            written += transferred;
+            return transferred;
+        }
+
+        @Override
+        public long transferFrom(StreamSourceChannel source, long count, ByteBuffer throughBuffer) throws IOException {
+            throughBuffer.clear();
+            throughBuffer.limit((int) Math.min(throughBuffer.capacity(), count));
+            final int read = source.read(throughBuffer);
+            throughBuffer.clear();
+            if (read > 0)
+                written += read;
+            return read;
+        }
+
+        @Override
+        public void terminateWrites() {
+            shutdown = true;
+        }
+
+        @Override
+        public boolean isWriteShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public void resumeWrites() {
+        }
+
+        @Override
+        public void suspendWrites() {
+        }
+
+        @Override
+        public void wakeupWrites() {
+        }
+
+        @Override
+        public boolean isWriteResumed() {
+            return false;
+        }
+
+        @Override
+        public void awaitWritable() {
+        }
+
+        @Override
+        public void awaitWritable(long time, TimeUnit timeUnit) {
+        }
+
+        @Override
+        public XnioIoThread getWriteThread() {
+            return WORKER.getIoThread();
+        }
+
+        @Override
+        public void setWriteReadyHandler(WriteReadyHandler handler) {
+        }
+
+        @Override
+        public void truncateWrites() {
+            shutdown = true;
+        }
+
+        @Override
+        public boolean flush() {
+            return true;
+        }
+
+        @Override
+        public XnioWorker getWorker() {
+            return WORKER;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.injest.core.annotations.directives.Param;
+import io.injest.core.structs.IntList;
+import io.injest.core.structs.LongList;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParameterBinderTest {
+
+    enum Order {
+        ASC, DESC
+    }
+
+    static class Search {
+        @Param(required = true)
+        String q;
+        @Param
+        int page = 1;
+        @Param("size")
+        Long pageSize;
+        @Param
+        double ratio;
+        @Param
+        boolean exact;
+        @Param
+        Order order;
+        @Param
+        List<String> tags;
+        @Param
+        IntList ids;
+        @Param
+        LongList stamps;
+    }
+
+    static class Sourced {
+        @Param(source = ParameterSource.PATH)
+        String id;
+        @Param(source = ParameterSource.QUERY)
+        String mode;
+        @Param
+        String user;
+        @Param
+        List<String> tags;
+    }
+
+    static class StaticField {
+        @Param
+        static String value;
+    }
+
+    static class UnsupportedField {
+        @Param
+        Map<String, String> value;
+    }
+
+    static class NoDefaultConstructor {
+        @Param
+        String value;
+
+        NoDefaultConstructor(String value) {
+            this.value = value;
+        }
+    }
+
+    @Test
+    void bindsEveryFieldKind() {
+        final List<ParameterError> errors = new ArrayList<>();
+        final Search search = ParameterBinder.of(Search.class).bind(collected(
+                set(ParameterSource.QUERY, "q", "shoes", "page", "3", "size", "9223372036854775807",
+                        "ratio", "0.5", "exact", "TRUE", "order", "DESC", "tags[]", "a")), errors);
+        assertTrue(errors.isEmpty(), errors::toString);
+        assertEquals("shoes", search.q);
+        assertEquals(3, search.page);
+        assertEquals(Long.MAX_VALUE, search.pageSize);
+        assertEquals(0.5, search.ratio);
+        assertTrue(search.exact);
+        assertEquals(Order.DESC, search.order);
+        assertEquals(Arrays.asList("a"), search.tags);
+    }
+
+    @Test
+    void bindsNumericLists() {
+        final Map<String, Deque<String>> params = new LinkedHashMap<>();
+        params.put("q", deque("x"));
+        params.put("ids", deque("1", "-2", "2147483647"));
+        params.put("stamps", deque("-9223372036854775808", "5"));
+        final List<ParameterError> errors = new ArrayList<>();
+        final Search search = ParameterBinder.of(Search.class)
+                .bind(collected(new ParameterSet(params, ParameterSource.QUERY)), errors);
+        assertTrue(errors.isEmpty(), errors::toString);
+        assertArrayEquals(new int[]{1, -2, Integer.MAX_VALUE}, search.ids.toArray());
+        assertEquals(Long.MIN_VALUE, search.stamps.get(0));
+        assertEquals(5, search.stamps.get(1));
+    }
+
+    @Test
+    void reportsMissingRequiredParameters() {
+        final List<ParameterError> errors = new ArrayList<>();
+        final Search search = ParameterBinder.of(Search.class).bind(collected(set(ParameterSource.QUERY, "page", "2")), errors);
+        assertEquals(1, errors.size());
+        assertEquals("q", errors.get(0).getKey());
+        assertEquals(ParameterError.Kind.MISSING, errors.get(0).getKind());
+        assertEquals(2, search.page);
+    }
+
+    @Test
+    void reportsInvalidValuesAndKeepsDefaults() {
+        final List<ParameterError> errors = new ArrayList<>();
+        final Search search = ParameterBinder.of(Search.class).bind(collected(
+                set(ParameterSource.QUERY, "q", "x", "page", "2147483648", "size", "+", "ratio", "1e",
+                        "exact", "yes", "order", "asc")), errors);
+        assertEquals(5, errors.size());
+        for (ParameterError error : errors)
+            assertEquals(ParameterError.Kind.INVALID, error.getKind());
+        assertEquals("page", errors.get(0).getKey());
+        assertEquals("int", errors.get(0).getExpectedType());
+        assertEquals("2147483648", errors.get(0).getValue());
+        assertEquals("Order", errors.get(4).getExpectedType());
+        assertEquals(1, search.page);
+        assertNull(search.pageSize);
+        assertNull(search.order);
+    }
+
+    @Test
+    void reportsFirstInvalidListElement() {
+        final Map<String, Deque<String>> params = new LinkedHashMap<>();
+        params.put("q", deque("x"));
+        params.put("ids", deque("1", "two", "three"));
+        final List<ParameterError> errors = new ArrayList<>();
+        final Search search = ParameterBinder.of(Search.class)
+                .bind(collected(new ParameterSet(params, ParameterSource.QUERY)), errors);
+        assertEquals(1, errors.size());
+        assertEquals("two", errors.get(0).getValue());
+        assertNull(search.ids);
+    }
+
+    @Test
+    void readsFieldsFromTheirSource() {
+        final List<ParameterError> errors = new ArrayList<>();
+        final Sourced sourced = ParameterBinder.of(Sourced.class).bind(collected(
+                set(ParameterSource.PATH, "id", "from-path", "mode", "from-path"),
+                set(ParameterSource.QUERY, "id", "from-query", "mode", "from-query", "user", "from-query"),
+                set(ParameterSource.BODY, "user", "from-body")), errors);
+        assertEquals("from-path", sourced.id);
+        assertEquals("from-query", sourced.mode);
+        // the first source wins for single values of any source
+        assertEquals("from-query", sourced.user);
+    }
+
+    @Test
+    void mergesListsAcrossSources() {
+        final List<ParameterError> errors = new ArrayList<>();
+        final Sourced sourced = ParameterBinder.of(Sourced.class).bind(collected(
+                set(ParameterSource.QUERY, "tags", "a"),
+                set(ParameterSource.BODY, "tags", "b")), errors);
+        assertEquals(Arrays.asList("a", "b"), sourced.tags);
+    }
+
+    @Test
+    void injectedParametersOverrideEverySource() {
+        final List<ParameterError> errors = new ArrayList<>();
+        final Sourced sourced = ParameterBinder.of(Sourced.class).bind(collected(
+                set(ParameterSource.PATH, "id", "from-path"),
+                set(ParameterSource.QUERY, "user", "from-query", "tags", "a"),
+                set(ParameterSource.INJECTED, "id", "injected", "user", "injected", "tags", "i")), errors);
+        assertEquals("injected", sourced.id);
+        assertEquals("injected", sourced.user);
+        assertEquals(Arrays.asList("i"), sourced.tags);
+    }
+
+    @Test
+    void rejectsInvalidParameterClasses() {
+        assertThrows(IllegalStateException.class, () -> ParameterBinder.of(StaticField.class));
+        assertThrows(IllegalStateException.class, () -> ParameterBinder.of(UnsupportedField.class));
+        assertThrows(IllegalStateException.class, () -> ParameterBinder.of(NoDefaultConstructor.class));
+    }
+
+    private static CollectedParameters collected(ParameterSet... sets) {
+        return new CollectedParameters(sets);
+    }
+
+    private static ParameterSet set(ParameterSource source, String... keysAndValues) {
+        final Map<String, Deque<String>> params = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2)
+            params.put(keysAndValues[i], deque(keysAndValues[i + 1]));
+        return new ParameterSet(params, source);
+    }
+
+    private static Deque<String> deque(String... values) {
+        return new ArrayDeque<>(Arrays.asList(values));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.http;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.PathTemplateMatch;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouterTest {
+
+    private static final HttpHandler NOOP = exchange -> {
+    };
+
+    @Test
+    void matchesStaticRoute() {
+        final Router router = new Router().add(RequestMethod.GET, "/users/search", NOOP);
+        final RouteMatch match = router.match(Methods.GET, "/users/search");
+        assertNotNull(match);
+        assertEquals("/users/search", match.getTemplate());
+        assertEquals(0, match.getParameterCount());
+        assertNull(router.match(Methods.GET, "/users/other"));
+        assertNull(router.match(Methods.GET, "/users"));
+    }
+
+    @Test
+    void extractsPathParameters() {
+        final Router router = new Router().add(RequestMethod.GET, "/users/{id}/files/{name}", NOOP);
+        final RouteMatch match = router.match(Methods.GET, "/users/42/files/report.pdf");
+        assertNotNull(match);
+        assertEquals(2, match.getParameterCount());
+        assertEquals("42", match.getParameter("id"));
+        assertEquals("report.pdf", match.getParameter("name"));
+        assertNull(match.getParameter("missing"));
+        assertEquals("42", match.asMap().get("id"));
+        assertEquals("report.pdf", match.asDequeMap().get("name").getFirst());
+    }
+
+    @Test
+    void prefersStaticOverParameterOverWildcard() {
+        final Router router = new Router()
+                .add(RequestMethod.GET, "/files/latest", NOOP)
+                .add(RequestMethod.GET, "/files/{id}", NOOP)
+                .add(RequestMethod.GET, "/files/*", NOOP);
+        assertEquals("/files/latest", router.match(Methods.GET, "/files/latest").getTemplate());
+        assertEquals("/files/{id}", router.match(Methods.GET, "/files/7").getTemplate());
+        final RouteMatch wildcard = router.match(Methods.GET, "/files/7/raw/data");
+        assertEquals("/files/*", wildcard.getTemplate());
+        assertEquals("7/raw/data", wildcard.getParameter("*"));
+    }
+
+    @Test
+    void backtracksOutOfDeadEnds() {
+        final Router router = new Router()
+                .add(RequestMethod.GET, "/a/b/c", NOOP)
+                .add(RequestMethod.GET, "/a/{x}/d", NOOP);
+        final RouteMatch match = router.match(Methods.GET, "/a/b/d");
+        assertNotNull(match);
+        assertEquals("/a/{x}/d", match.getTemplate());
+        assertEquals("b", match.getParameter("x"));
+    }
+
+    @Test
+    void keepsMethodsApart() {
+        final Router router = new Router().add(RequestMethod.POST, "/users", NOOP);
+        assertNotNull(router.match(Methods.POST, "/users"));
+        assertNull(router.match(Methods.GET, "/users"));
+        assertNotNull(router.match(HttpString.tryFromString("POST"), "/users"));
+    }
+
+    @Test
+    void rejectsConflictingAndInvalidTemplates() {
+        final Router router = new Router().add(RequestMethod.GET, "/users/{id}", NOOP);
+        assertThrows(IllegalStateException.class, () -> router.add(RequestMethod.GET, "/users/{name}", NOOP));
+        assertThrows(IllegalArgumentException.class, () -> router.add(RequestMethod.GET, "/a/*/b", NOOP));
+        assertThrows(IllegalArgumentException.class, () -> router.add(RequestMethod.GET, "/a/{x}/{x}", NOOP));
+        assertThrows(IllegalArgumentException.class, () -> router.add(RequestMethod.GET, "/a/x{y}", NOOP));
+        router.add(RequestMethod.POST, "/users/{name}", NOOP);
+    }
+
+    @Test
+    void dispatchesToRouteHandler() throws Exception {
+        final List<String> calls = new ArrayList<>();
+        final Router router = new Router()
+                .add(RequestMethod.GET, "/users/{id}", exchange -> calls.add("route"))
+                .setFallbackHandler(exchange -> calls.add("fallback"));
+        final HttpServerExchange exchange = exchange(Methods.GET, "/users/42");
+        router.handleRequest(exchange);
+        assertEquals(1, calls.size());
+        assertEquals("route", calls.get(0));
+        assertEquals("42", exchange.getAttachment(RouteMatch.ATTACHMENT_KEY).getParameter("id"));
+        final PathTemplateMatch templateMatch = exchange.getAttachment(PathTemplateMatch.ATTACHMENT_KEY);
+        assertEquals("/users/{id}", templateMatch.getMatchedTemplate());
+        assertEquals("42", templateMatch.getParameters().get("id"));
+        assertNull(exchange.getQueryParameters().get("id"));
+    }
+
+    @Test
+    void rewritesQueryParametersWhenEnabled() throws Exception {
+        final Router router = new Router()
+                .add(RequestMethod.GET, "/users/{id}", NOOP)
+                .setRewriteQueryParameters(true);
+        final HttpServerExchange exchange = exchange(Methods.GET, "/users/42");
+        router.handleRequest(exchange);
+        assertEquals("42", exchange.getQueryParameters().get("id").getFirst());
+    }
+
+    @Test
+    void answersOtherMethodsWithInvalidMethodHandler() throws Exception {
+        final List<String> calls = new ArrayList<>();
+        final Router router = new Router()
+                .add(RequestMethod.GET, "/users/{id}", exchange -> calls.add("route"))
+                .setFallbackHandler(exchange -> calls.add("fallback"))
+                .setInvalidMethodHandler(exchange -> calls.add("405"));
+        router.handleRequest(exchange(Methods.DELETE, "/users/42"));
+        router.handleRequest(exchange(Methods.DELETE, "/groups/42"));
+        router.handleRequest(exchange(Methods.GET, "/groups/42"));
+        assertEquals(3, calls.size());
+        assertEquals("405", calls.get(0));
+        assertEquals("fallback", calls.get(1));
+        assertEquals("fallback", calls.get(2));
+    }
+
+    @Test
+    void fallsBackWithoutInvalidMethodHandler() throws Exception {
+        final List<String> calls = new ArrayList<>();
+        final Router router = new Router()
+                .add(RequestMethod.GET, "/users", NOOP)
+                .setFallbackHandler(exchange -> calls.add("fallback"));
+        router.handleRequest(exchange(Methods.POST, "/users"));
+        assertTrue(calls.contains("fallback"));
+    }
+
+    private static HttpServerExchange exchange(HttpString method, String path) {
+        final HttpServerExchange exchange = new HttpServerExchange(null);
+        exchange.setRequestMethod(method);
+        exchange.setRequestPath(path);
+        exchange.setRelativePath(path);
+        return exchange;
+    }
+}
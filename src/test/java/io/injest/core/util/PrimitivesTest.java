@@ -0,0 +1,121 @@
+/*
+ * Injest - https://injest.io
+ *
+ * Copyright (c) 2026.
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ * Last Modified: 10/17/26, 9:12 AM
+ */
+
+package io.injest.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrimitivesTest {
+
+    @Test
+    void parsesIntRange() {
+        assertEquals(0, Primitives.parseInt("0", -1));
+        assertEquals(42, Primitives.parseInt("+42", -1));
+        assertEquals(-42, Primitives.parseInt("-42", -1));
+        assertEquals(Integer.MAX_VALUE, Primitives.parseInt("2147483647", -1));
+        assertEquals(Integer.MIN_VALUE, Primitives.parseInt("-2147483648", -1));
+        assertEquals(7, Primitives.parseInt("007", -1));
+    }
+
+    @Test
+    void rejectsIntOverflow() {
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid("2147483648"));
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid("-2147483649"));
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid("99999999999999999999"));
+        assertEquals(-1, Primitives.parseInt("2147483648", -1));
+    }
+
+    @Test
+    void rejectsMalformedInts() {
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid(null));
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid(""));
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid("+"));
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid("-"));
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid("1.5"));
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid(" 1"));
+        assertEquals(Primitives.INVALID_INT, Primitives.parseIntOrInvalid("--1"));
+    }
+
+    @Test
+    void parsesLongRange() {
+        assertEquals(Long.MAX_VALUE, Primitives.parseLong("9223372036854775807", 0));
+        assertEquals(Long.MIN_VALUE, Primitives.parseLong("-9223372036854775808", 0));
+        assertEquals(2147483648L, Primitives.parseLong("2147483648", 0));
+        assertEquals(5, Primitives.parseLong("+5", 0));
+    }
+
+    @Test
+    void rejectsLongOverflow() {
+        assertEquals(-1, Primitives.parseLong("9223372036854775808", -1));
+        assertEquals(-1, Primitives.parseLong("-9223372036854775809", -1));
+        assertEquals(-1, Primitives.parseLong("92233720368547758070", -1));
+    }
+
+    @Test
+    void rejectsMalformedLongs() {
+        assertEquals(-1, Primitives.parseLong(null, -1));
+        assertEquals(-1, Primitives.parseLong("", -1));
+        assertEquals(-1, Primitives.parseLong("+", -1));
+        assertEquals(-1, Primitives.parseLong("-", -1));
+        assertEquals(-1, Primitives.parseLong("12a", -1));
+    }
+
+    @Test
+    void detectsLongsIncludingMinValue() {
+        assertTrue(Primitives.isLong("-9223372036854775808"));
+        assertTrue(Primitives.isLong("0"));
+        assertFalse(Primitives.isLong("9223372036854775808"));
+        assertFalse(Primitives.isLong("-"));
+        assertFalse(Primitives.isLong(null));
+    }
+
+    @Test
+    void detectsDoubles() {
+        assertTrue(Primitives.isDouble("1"));
+        assertTrue(Primitives.isDouble("-1.5"));
+        assertTrue(Primitives.isDouble(".5"));
+        assertTrue(Primitives.isDouble("5."));
+        assertTrue(Primitives.isDouble("2e-3"));
+        assertTrue(Primitives.isDouble("+1E10"));
+        assertFalse(Primitives.isDouble("."));
+        assertFalse(Primitives.isDouble("-"));
+        assertFalse(Primitives.isDouble("1e"));
+        assertFalse(Primitives.isDouble("NaN"));
+        assertFalse(Primitives.isDouble("Infinity"));
+        assertFalse(Primitives.isDouble("0x10"));
+        assertFalse(Primitives.isDouble("1.5d"));
+        assertEquals(0.002, Primitives.parseDouble("2e-3", Double.NaN));
+        assertTrue(Double.isNaN(Primitives.parseDouble("abc", Double.NaN)));
+    }
+
+    @Test
+    void parsesBooleansIgnoringCase() {
+        assertTrue(Primitives.parseBoolean("TRUE", false));
+        assertFalse(Primitives.parseBoolean("False", true));
+        assertTrue(Primitives.parseBoolean("yes", true));
+        assertFalse(Primitives.parseBoolean(null, false));
+    }
+}